@@ -13,7 +13,9 @@ import java.io.InputStreamReader;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,6 +58,25 @@ public class BasicNavigationAndFindTests {
         assertNotNull(element,"Returned element not null");
     }
 
+    // Verify finds and timeouts are recorded in the find statistics
+    @org.junit.jupiter.api.Test
+    void VerifyFindStatisticsRecorded() {
+        FindStatistics.reset();
+        seleniumDriver.gotoURL("http://www.google.com");
+        seleniumDriver.findElement(new ObjectMapping("//input[@id='lst-ib']","Search textbox"));
+        seleniumDriver.findElement(new ObjectMapping("//input[@id='lst-ib']","Search textbox"));
+        seleniumDriver.findElementOrNull(new ObjectMapping("//input[@id='wont match']","Missing textbox"),Duration.ofMillis(1000),PollStrategy.fixed(Duration.ofMillis(200)));
+
+        List<FindStatistics.MappingStatistics> slowest = FindStatistics.getSlowestLocators(10);
+        assertEquals(2,slowest.size(),"Two mappings recorded");
+        assertEquals("Missing textbox",slowest.get(0).getFriendlyName(),"Timed out mapping is slowest");
+        assertEquals(1,slowest.get(0).getTimeouts(),"Timeout recorded");
+        assertTrue(slowest.get(0).getPolls()>1,"Timed out find polled more than once");
+        assertEquals(2,slowest.get(1).getFinds(),"Both finds of same mapping counted together");
+        assertEquals(0,slowest.get(1).getTimeouts(),"No timeouts for found mapping");
+        assertTrue(FindStatistics.getSlowestLocatorsReport(10).contains("Missing textbox"),"Report lists slowest mapping");
+    }
+
     // Verify timeout when finding non-existant element
     @org.junit.jupiter.api.Test
     void VerifyFindElementTimeout() {
@@ -77,6 +98,44 @@ public class BasicNavigationAndFindTests {
         assertNull(element,"Returned element null");
     }
 
+    // Verify we can find an element when waiting for it in the browser (event driven find)
+    @org.junit.jupiter.api.Test
+    void VerifyEventDrivenFindElement() {
+        seleniumDriver.setEventDrivenFind(true);
+        seleniumDriver.gotoURL("http://www.google.com");
+        HTMLElement element=null;
+        try {
+            element = seleniumDriver.findElement(new ObjectMapping("//input[@id='lst-ib']"));
+        }
+        catch( Exception e) {
+            Logger.WriteLine(Logger.LogLevels.TestInformation,"Error thrown finding Google search testbox element: ",e.getMessage());
+        }
+        assertNotNull(element,"Returned element not null");
+        assertEquals("(//input[@id='lst-ib'])[1]",element.getMappingDetails().getActualFindLogic(),"Element mapping same as polled find");
+    }
+
+    // Verify timeout when finding non-existant element using event driven find
+    @org.junit.jupiter.api.Test
+    void VerifyEventDrivenFindElementTimeout() {
+        seleniumDriver.setEventDrivenFind(true);
+        seleniumDriver.setFindTimeout(Duration.ofMillis(10000));
+        seleniumDriver.gotoURL("http://www.google.com");
+        HTMLElement element=null;
+        StopWatch stopWatch = StopWatch.createStarted();
+        try {
+            element = seleniumDriver.findElement(new ObjectMapping("//input[@id='wont match']"));
+        }
+        catch( Exception e) {
+            stopWatch.stop();
+            Logger.WriteLine(Logger.LogLevels.TestInformation,"Error thrown finding Google search testbox element: ",e.getMessage());
+        }
+
+        int actualTime = (int)stopWatch.getTime(TimeUnit.SECONDS);
+
+        assertEquals(true,(actualTime>9 && actualTime<12), String.format("Timeout ([%d]) approx 10 seconds",actualTime));
+        assertNull(element,"Returned element null");
+    }
+
     // Verify error after correct timeout when requiring single element but find logic returns multiple
     @org.junit.jupiter.api.Test
     void VerifyFindElementFailForMultiple() {
@@ -114,6 +173,54 @@ public class BasicNavigationAndFindTests {
         assertEquals(9,elements.size(),"Verify 9 input elements on Google search site");
     }
 
+    // Verify elements in a multiple find result are each identified by their own indexed mapping
+    @org.junit.jupiter.api.Test
+    void VerifyFindMultipleElementsIndexedMappings() {
+        seleniumDriver.gotoURL("http://www.google.com");
+        List<HTMLElement> elements = seleniumDriver.findElements(null,new ObjectMapping("//input"));
+        assertSame(elements.get(2),elements.get(2),"Same element returned each time an index is accessed");
+        assertEquals("(//input)[3]",elements.get(2).getMappingDetails().getActualFindLogic(),"Third element mapping indexed to it");
+        elements.remove(0);
+        assertEquals(8,elements.size(),"Element removed from results");
+        assertEquals("(//input)[2]",elements.get(0).getMappingDetails().getActualFindLogic(),"Remaining elements keep their own mappings");
+    }
+
+    // Verify streamed elements match those found by findElements, fetched in chunks
+    @org.junit.jupiter.api.Test
+    void VerifyStreamElements() {
+        seleniumDriver.gotoURL("http://www.google.com");
+        ObjectMapping allInputs = new ObjectMapping("//input","All inputs");
+        long count;
+        try (Stream<HTMLElement> elements = seleniumDriver.streamElements(null,allInputs,2)) {
+            count = elements.count();
+        }
+        assertEquals(9,count,"Verify 9 input elements streamed from Google search site");
+        HTMLElement second;
+        try (Stream<HTMLElement> elements = seleniumDriver.streamElements(null,allInputs,2)) {
+            second = elements.skip(1).findFirst().orElse(null);
+        }
+        assertNotNull(second,"Second element streamed");
+        assertEquals("(//input)[2]",second.getMappingDetails().getActualFindLogic(),"Streamed element mapping indexed to it");
+    }
+
+    // Verify we can find elements for many mappings in one go
+    @org.junit.jupiter.api.Test
+    void VerifyBatchedFindElements() {
+        seleniumDriver.gotoURL("http://www.google.com");
+        ObjectMapping searchBox = new ObjectMapping("//input[@id='lst-ib']","Search textbox");
+        ObjectMapping allInputs = new ObjectMapping("tag=input","All inputs");
+        Map<ObjectMapping,List<HTMLElement>> elements=null;
+        try {
+            elements = seleniumDriver.findElements(null,true,Duration.ofMillis(10000),searchBox,allInputs);
+        }
+        catch( Exception e) {
+            Logger.WriteLine(Logger.LogLevels.TestInformation,"Error thrown finding Google search elements: ",e.getMessage());
+        }
+        assertNotNull(elements,"Returned elements not null");
+        assertEquals(1,elements.get(searchBox).size(),"Verify single search textbox");
+        assertEquals(9,elements.get(allInputs).size(),"Verify 9 input elements on Google search site");
+    }
+
     // Verify correct error message when find fails (No friendly name set)
     @org.junit.jupiter.api.Test
     void VerifyCorrectErrorWithBadFindLogicNoFriendlyName() {
@@ -174,4 +281,34 @@ public class BasicNavigationAndFindTests {
         assertNull(element,"No returned element");
     }
 
+    // Verify a static element is found quickly when waiting until stable (stability detected in browser)
+    @org.junit.jupiter.api.Test
+    void VerifyStableElementFoundQuickly() {
+        seleniumDriver.gotoURL("http://www.google.com");
+        HTMLElement element=null;
+        StopWatch stopWatch = StopWatch.createStarted();
+        try {
+            element = seleniumDriver.findElement(new ObjectMapping("//input[@id='lst-ib']"),true);
+        }
+        catch( Exception e) {
+            Logger.WriteLine(Logger.LogLevels.TestInformation,"Error thrown finding Google search testbox element: ",e.getMessage());
+        }
+        stopWatch.stop();
+        assertNotNull(element,"Returned element not null");
+        assertEquals(true,stopWatch.getTime(TimeUnit.MILLISECONDS)<1000,String.format("Stable element found in under 1 second ([%dmS])",stopWatch.getTime(TimeUnit.MILLISECONDS)));
+    }
+
+    // Verify static element is stable, sampling several properties at once, and moving element is not
+    @org.junit.jupiter.api.Test
+    void VerifyWaitForStableProperties() {
+        seleniumDriver.gotoURL("http://www.google.com");
+        HTMLElement searchBox = seleniumDriver.findElement(new ObjectMapping("//input[@id='lst-ib']"));
+        assertTrue(searchBox.isSizeStable(),"Search box size is stable");
+        assertTrue(searchBox.waitForStable(Duration.ofMillis(5000),Duration.ofMillis(50),4,StabilityProperty.RECT,StabilityProperty.style("opacity")),"Search box position and opacity stable");
+
+        seleniumDriver.gotoURL("http://bouncejs.com/");
+        HTMLElement movingElement = seleniumDriver.findElement(new ObjectMapping("//div[@id='preferences']/div[@class='empty-message']","Moving element in left preferences panel"));
+        assertFalse(movingElement.waitForPositionStable(Duration.ofMillis(2000)),"Moving element never position stable");
+    }
+
 }
@@ -1,6 +1,7 @@
 package TeamControlium.Controlium.Test.ControlTesting;
 
 import TeamControlium.Controlium.ControlBase;
+import TeamControlium.Controlium.DomGeneration;
 import TeamControlium.Controlium.ElementControls.*;
 import TeamControlium.Controlium.HTMLElement;
 import TeamControlium.Controlium.ObjectMapping;
@@ -12,10 +13,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Assertions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BasicControlTests {
 
@@ -51,6 +59,31 @@ public class BasicControlTests {
         assertNotNull(inputControl,"Input control successfully Set on");
     }
 
+    // Verify setting on the same control again uses the control cache, when enabled, until the element goes stale
+    @org.junit.jupiter.api.Test
+    void VerifyControlCacheHitAndStaleness() {
+        assertFalse(ControlBase.getCacheEnabled(),"Control cache off by default");
+        ControlBase.setCacheEnabled(true);
+        try {
+            seleniumDriver.gotoURL("https://www.thecodingguys.net/tutorials/html/html-input-element");
+            ControlBase.clearCache();
+            Input firstSet = ControlBase.setControl(seleniumDriver,new Input(new ObjectMapping("//input[@name='s']","Search Input textbox")));
+            Input secondSet = ControlBase.setControl(seleniumDriver,new Input(new ObjectMapping("//input[@name='s']","Search Input textbox again")));
+            assertEquals(firstSet.getRootElement().getUnderlyingWebElement(),secondSet.getRootElement().getUnderlyingWebElement(),"Second set uses cached element");
+            assertNotSame(firstSet.getMapping(),secondSet.getMapping(),"Second set keeps its own mapping");
+            assertEquals("Search Input textbox again",secondSet.getRootElement().getFriendlyName(),"Second set keeps its own friendly name");
+
+            seleniumDriver.gotoURL("https://www.thecodingguys.net/tutorials/html/html-input-element");
+            Input afterReload = ControlBase.setControl(seleniumDriver,new Input(new ObjectMapping("//input[@name='s']","Search Input textbox")));
+            assertNotEquals(firstSet.getRootElement().getUnderlyingWebElement(),afterReload.getRootElement().getUnderlyingWebElement(),"Stale cached element not used");
+
+            ControlBase.clearCache();
+            assertEquals(0,ControlBase.getCacheSize(),"Cache cleared");
+        } finally {
+            ControlBase.setCacheEnabled(false);
+        }
+    }
+
     // Verify we can select an item in a Select control using visible text
     @org.junit.jupiter.api.Test
     void VerifySelectingAnItemByTextInSelectControl() {
@@ -220,6 +253,46 @@ public class BasicControlTests {
     }
 
 
+    // Verify the Select option model has all options and follows selection changes
+    @org.junit.jupiter.api.Test
+    void VerifySelectOptionModel() {
+        seleniumDriver.gotoURL("https://html.com/attributes/select-multiple/");
+        Select selectControl = ControlBase.setControl(seleniumDriver,new Select(new ObjectMapping("//select[@multiple]","Example Favorites dropdown")));
+
+        List<Select.Option> options = selectControl.getOptions();
+        assertEquals(selectControl.findAllElements(new ObjectMapping("./option","All options")).size(),options.size(),"Option model has all options");
+        assertTrue(options.stream().anyMatch(option -> option.getText().equals("Andean flamingo")),"Option model has option texts");
+
+        selectControl.selectItemByIndex(1);
+        selectControl.selectItemByText("Andean flamingo");
+        List<String> selectedTexts = selectControl.getAllSelectedItemTexts();
+        assertTrue(selectedTexts.contains(options.get(1).getText()),"Option selected by index is selected");
+        assertTrue(selectedTexts.contains("Andean flamingo"),"Option selected by text is selected");
+        assertTrue(selectControl.getOptions().get(1).isSelected(),"Option model shows option selected");
+        assertSame(options.get(0).getText(),selectControl.getOptions().get(0).getText(),"Options not re-read after selecting");
+    }
+
+    // Verify several items are selected and deselected in one go with unmatched items reported
+    @org.junit.jupiter.api.Test
+    void VerifySelectAndDeselectMultipleItemsInOneCall() {
+        seleniumDriver.gotoURL("https://html.com/attributes/select-multiple/");
+        Select selectControl = ControlBase.setControl(seleniumDriver,new Select(new ObjectMapping("//select[@multiple]","Example Favorites dropdown"),true));
+
+        Select.SelectionResult result = selectControl.selectItems(Arrays.asList("Lesser flamingo","Greater flamingo","Andean flamingo","Pink elephant"));
+        assertEquals(Arrays.asList("Lesser flamingo","Greater flamingo","Andean flamingo"),result.getMatchedItems(),"Matching items reported");
+        assertEquals(Arrays.asList("Pink elephant"),result.getUnmatchedItems(),"Unmatched item reported");
+        assertFalse(result.allMatched(),"Not all items matched");
+        assertEquals(3,selectControl.getSelectedItemTextsCount(),"Matching items selected");
+
+        result = selectControl.deselectItems(Arrays.asList("Greater flamingo"));
+        assertEquals(1,result.getChangedOptionCount(),"One option deselected");
+        assertEquals(2,selectControl.getSelectedItemTextsCount(),"Deselected item no longer selected");
+
+        result = selectControl.selectItemsByIndex(Arrays.asList(0));
+        assertTrue(result.allMatched(),"Item selected by index matched");
+        assertTrue(selectControl.getOptions().get(0).isSelected(),"Item selected by index is selected");
+    }
+
     // Verify controlBeingSet on SetControl
     @org.junit.jupiter.api.Test
     void VerifySelectResetControl() {
@@ -301,6 +374,103 @@ public class BasicControlTests {
         assertEquals("0.01",cellContents,"Table cell contents correctly read");
     }
 
+    // Verify a table snapshot reads the whole table, matching the table's rows and cells, and is only re-read when refreshed
+    @org.junit.jupiter.api.Test
+    void VerifyTableSnapshot() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        Table tableControl = ControlBase.setControl(seleniumDriver,new Table("Caption","A complex table"));
+
+        TableSnapshot snapshot = tableControl.snapshot(true);
+        assertEquals(tableControl.findAllElements(new ObjectMapping("./*/tr","All table rows")).size(),snapshot.getRowCount(),"Snapshot has all table rows");
+        assertSame(snapshot,tableControl.snapshot(),"Snapshot kept until refreshed");
+
+        TableSnapshot.CellData foundCell = null;
+        for (TableSnapshot.Row tableRow : snapshot.getDataRows()) {
+            for (TableSnapshot.CellData cell : tableRow.getCells()) {
+                if (cell != null && cell.getText().equals("0.01")) foundCell = cell;
+            }
+        }
+        assertNotNull(foundCell,"Snapshot has cell with text 0.01");
+        assertEquals("0.01",foundCell.getElement().getText(),"Snapshot cell element is the cell");
+        assertSame(foundCell,snapshot.getCell(foundCell.getRowIndex(),foundCell.getColumnIndex()),"Cell at its own grid position");
+
+        TableSnapshot refreshed = tableControl.refresh();
+        assertNotSame(snapshot,refreshed,"Refresh re-reads table");
+        assertEquals(snapshot.getRowCount(),refreshed.getRowCount(),"Refreshed snapshot has same rows");
+        assertEquals(snapshot.getHeaders(),refreshed.getHeaders(),"Refreshed snapshot has same headers");
+    }
+
+    // Verify indexed row lookup finds rows by header and value, and the index is rebuilt when the table changes
+    @org.junit.jupiter.api.Test
+    void VerifyTableFindRowsByHeaderAndValue() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        Table tableControl = ControlBase.setControl(seleniumDriver,new Table("Caption","A complex table"));
+
+        TableSnapshot snapshot = tableControl.snapshot(true);
+        TableSnapshot.Row firstDataRow = snapshot.getDataRows().get(0);
+        String header = snapshot.getHeaders().get(0);
+        String value = firstDataRow.getText(0);
+
+        assertTrue(tableControl.findRows(header,value).contains(firstDataRow),"First data row found by its first column value");
+        assertSame(tableControl.indexBy(header),tableControl.indexBy(header),"Index kept while table unchanged");
+        assertFalse(tableControl.hasChanged(),"Table unchanged");
+
+        seleniumDriver.executeJavaScriptNoReturnData("arguments[0].textContent = 'Changed by test';",firstDataRow.getCell(0).getElement().getUnderlyingWebElement());
+        assertTrue(tableControl.hasChanged(),"Table change detected");
+        assertEquals(firstDataRow.getIndex(),tableControl.findRows(header,"Changed by test").get(0).getIndex(),"Changed row found by new value");
+    }
+
+    // Verify streaming rows a page at a time returns every data row, in order, and stops fetching when the stream does
+    @org.junit.jupiter.api.Test
+    void VerifyTableStreamRows() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        Table tableControl = ControlBase.setControl(seleniumDriver,new Table("Caption","A complex table"));
+        TableSnapshot snapshot = tableControl.snapshot();
+
+        List<TableRow> streamedRows = tableControl.streamRows(2).collect(Collectors.toList());
+        assertEquals(snapshot.getDataRows().size(),streamedRows.size(),"All data rows streamed");
+        assertEquals(snapshot.getHeaders().get(0),streamedRows.get(0).getHeaders().get(0),"Streamed rows have table headers");
+        assertEquals(snapshot.getDataRows().get(0).getText(0),streamedRows.get(0).getText(0),"First streamed row is first data row");
+
+        assertEquals(streamedRows.get(0).getIndex(),tableControl.streamRows(2).findFirst().get().getIndex(),"Stream stopped early returns first row");
+    }
+
+    // Verify the DOM generation only moves on when elements are removed and that a removed control is seen as stale
+    @org.junit.jupiter.api.Test
+    void VerifyDomGenerationStaleness() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        DomGeneration generation = seleniumDriver.getDomGeneration();
+        Table tableControl = ControlBase.setControl(seleniumDriver,new Table("Caption","A complex table"));
+        assertFalse(tableControl.isStale(),"Table not stale");
+        assertEquals(generation,seleniumDriver.getDomGeneration(),"Generation unchanged when nothing removed");
+
+        seleniumDriver.executeJavaScriptNoReturnData("arguments[0].parentNode.removeChild(arguments[0]);",tableControl.getRootElement().getUnderlyingWebElement());
+        DomGeneration afterRemoval = seleniumDriver.getDomGeneration();
+        assertTrue(generation.isSamePage(afterRemoval),"Same page after removal");
+        assertTrue(afterRemoval.getRemovalCount() > generation.getRemovalCount(),"Removal counted");
+        assertTrue(tableControl.isStale(),"Removed table is stale");
+    }
+
+    // Verify setting a control whose parent has not been set resolves and binds the whole chain; and does again once the page has been reloaded
+    @org.junit.jupiter.api.Test
+    void VerifyParentChainResolvedWhenSettingChild() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        Table tableControl = new Table("Caption","A complex table");
+        Button captionControl = new Button(new ObjectMapping("./caption","Table caption"));
+        captionControl.setParentControl(tableControl);
+
+        captionControl = ControlBase.setControl(seleniumDriver,tableControl,captionControl);
+        assertTrue(tableControl.getRootElement().isBoundToAWebElement(),"Parent table bound");
+        assertSame(seleniumDriver,tableControl.getSeleniumDriver(),"Parent table set");
+        assertEquals("A complex table",captionControl.getText().trim(),"Child found from parent");
+
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        assertTrue(tableControl.isStale(),"Parent table stale after reload");
+        Button refreshedCaption = ControlBase.setControl(seleniumDriver,tableControl,new Button(new ObjectMapping("./caption","Table caption")));
+        assertFalse(tableControl.isStale(),"Parent table refreshed");
+        assertEquals("A complex table",refreshedCaption.getText().trim(),"Child found from refreshed parent");
+    }
+
     // Verify we can click a button control
     @org.junit.jupiter.api.Test
     void VerifyButtonClick() {
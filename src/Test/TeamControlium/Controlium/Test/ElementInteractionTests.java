@@ -13,7 +13,9 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,4 +107,77 @@ public class ElementInteractionTests {
         assertEquals(true,exceptionThrown.getMessage().contains("div id=\"overlay\""),"Cause string identifies correct element");
     }
 
+    // Verify getting an element's own text excludes its descendants' text, which getting all its text includes
+    @org.junit.jupiter.api.Test
+    void VerifyOwnTextExcludesDescendants() {
+        seleniumDriver.gotoURL("https://html.com/tables/");
+        seleniumDriver.executeJavaScriptNoReturnData("var div = document.createElement('div'); div.id = 'ownTextTest'; div.innerHTML = 'Own <b>child</b> text'; document.body.insertBefore(div, document.body.firstChild);");
+        HTMLElement element = seleniumDriver.findElement(new ObjectMapping("//div[@id='ownTextTest']","Own text test element"));
+
+        assertEquals("Own child text",element.getText(true),"Text including descendants");
+        assertEquals("Own  text",element.getText(false),"Own text only");
+    }
+
+    // Verify a snapshot reads several properties at once and getters see changes made by entering text
+    @org.junit.jupiter.api.Test
+    void VerifyElementSnapshot() {
+        seleniumDriver.gotoURL("https://www.w3schools.com/angular/tryit.asp?filename=try_ng_example1");
+        HTMLElement iframe = seleniumDriver.findElement(new ObjectMapping("//iframe[@id='iframeResult']"));
+        seleniumDriver.setIFrame(iframe);
+        HTMLElement inputElement = seleniumDriver.findElement(new ObjectMapping("//input[@ng-model='name']"));
+
+        ElementSnapshot snapshot = inputElement.snapshot();
+        assertTrue(snapshot.isDisplayed(),"Input element displayed");
+        assertTrue(snapshot.isEnabled(),"Input element enabled");
+        assertTrue(snapshot.hasAttribute("ng-model"),"Snapshot has ng-model attribute");
+        assertEquals("name",snapshot.getAttribute("ng-model"),"ng-model attribute value");
+        assertTrue(snapshot.getSize().equals(inputElement.getSize()),"Snapshot size same as getSize");
+        assertTrue(snapshot.getRect().getWidth()>0,"Input element has width");
+        assertThrows(RuntimeException.class,() -> inputElement.snapshot(ElementSnapshot.Property.SIZE).getText(),"Property not captured throws");
+
+        seleniumDriver.setSnapshotCacheLifetime(Duration.ofSeconds(30));
+        inputElement.snapshot(ElementSnapshot.Property.ATTRIBUTES);
+        inputElement.setText("Snapshot text");
+        assertEquals("Snapshot text",inputElement.getAttribute("value"),"Entering text discards cached snapshot");
+        assertTrue(inputElement.isVisible(false),"Input element visible");
+    }
+
+    // Verify a form filled by script fires the events a framework listens for, and a missing option is reported
+    @org.junit.jupiter.api.Test
+    void VerifyFillForm() {
+        seleniumDriver.gotoURL("https://www.w3schools.com/angular/tryit.asp?filename=try_ng_example1");
+        HTMLElement iframe = seleniumDriver.findElement(new ObjectMapping("//iframe[@id='iframeResult']"));
+        seleniumDriver.setIFrame(iframe);
+        ObjectMapping nameField = new ObjectMapping("//input[@ng-model='name']","Name field");
+
+        Map<ObjectMapping,String> fields = new LinkedHashMap<>();
+        fields.put(nameField,"Filled by script");
+        seleniumDriver.fillForm(fields);
+        HTMLElement outputElement = seleniumDriver.findElement(new ObjectMapping("//p[@class='ng-binding' and starts-with(.,'You wrote')]"));
+        assertTrue(outputElement.getText().contains("Filled by script"),"Angular saw value set by script");
+
+        seleniumDriver.formFiller().addField(nameField,"Typed in",true).fill();
+        assertTrue(outputElement.getText().contains("Typed in"),"Keystroke field typed into");
+
+        assertThrows(RuntimeException.class,() -> seleniumDriver.formFiller().addField(new ObjectMapping("//p[@class='ng-binding']","Output paragraph"),"Not a field").fill(),"Non-field reported");
+    }
+
+    // Verify text set directly (one script) is seen by the page and read back
+    @org.junit.jupiter.api.Test
+    void VerifyDirectValueTextEntry() {
+        String testText = "My directly set text";
+        seleniumDriver.gotoURL("https://www.w3schools.com/angular/tryit.asp?filename=try_ng_example1");
+        HTMLElement iframe = seleniumDriver.findElement(new ObjectMapping("//iframe[@id='iframeResult']"));
+        seleniumDriver.setIFrame(iframe);
+        ObjectMapping inputMapping = new ObjectMapping("//input[@ng-model='name']");
+        inputMapping.setTextEntryMode(TextEntryMode.DIRECT_VALUE);
+        HTMLElement inputElement = seleniumDriver.findElement(inputMapping);
+        HTMLElement outputElement = seleniumDriver.findElement(new ObjectMapping("//p[@class='ng-binding' and starts-with(.,'You wrote')]"));
+
+        assertEquals(TextEntryMode.DIRECT_VALUE,inputElement.getTextEntryMode(),"Element uses mapping text entry mode");
+        inputElement.setText(testText);
+        assertTrue(outputElement.getText().contains(testText),"Page saw directly set text");
+        inputElement.enterText(" appended");
+        assertEquals(testText+" appended",inputElement.getAttribute("value"),"Text appended directly");
+    }
 }
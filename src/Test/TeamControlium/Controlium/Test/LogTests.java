@@ -0,0 +1,37 @@
+package TeamControlium.Controlium.Test;
+
+import TeamControlium.Controlium.Log;
+import TeamControlium.Utilities.Logger;
+import org.junit.jupiter.api.AfterEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogTests {
+
+    private final Logger.LogLevels originalLevel = Logger.getLoggingLevel();
+
+    @AfterEach
+    void tearDown() {
+        Logger.setLoggingLevel(originalLevel);
+    }
+
+    // Verify levels at or above the logging level are enabled and those below are not
+    @org.junit.jupiter.api.Test
+    void VerifyLevelGating() {
+        Logger.setLoggingLevel(Logger.LogLevels.TestDebug);
+        assertFalse(Log.isEnabled(Logger.LogLevels.FrameworkDebug),"Framework debug below logging level");
+        assertTrue(Log.isEnabled(Logger.LogLevels.TestDebug),"Test debug at logging level");
+        assertTrue(Log.isEnabled(Logger.LogLevels.Error),"Error above logging level");
+    }
+
+    // Verify message is only built when its level is enabled
+    @org.junit.jupiter.api.Test
+    void VerifyMessageOnlyBuiltWhenEnabled() {
+        int[] built = {0};
+        Logger.setLoggingLevel(Logger.LogLevels.TestInformation);
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> { built[0]++; return "Not logged"; });
+        assertEquals(0,built[0],"Message for disabled level not built");
+        Log.writeLine(Logger.LogLevels.Error, () -> { built[0]++; return "Logged"; });
+        assertEquals(1,built[0],"Message for enabled level built");
+    }
+}
@@ -0,0 +1,69 @@
+package TeamControlium.Controlium.Test;
+
+import TeamControlium.Controlium.ObjectMapping;
+import TeamControlium.Controlium.TextEntryMode;
+import org.openqa.selenium.By;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectMappingTests {
+
+    // Verify find logic type prefixes are recognised
+    @org.junit.jupiter.api.Test
+    void VerifyMappingTypes() {
+        assertEquals(ObjectMapping.ByType.Id,new ObjectMapping("id=hello").getMappingType(),"id= is Id");
+        assertEquals(ObjectMapping.ByType.Class,new ObjectMapping("class=hello").getMappingType(),"class= is Class");
+        assertEquals(ObjectMapping.ByType.Css,new ObjectMapping("css=div.hello").getMappingType(),"css= is Css");
+        assertEquals(ObjectMapping.ByType.LinkText,new ObjectMapping("linktext=Hello").getMappingType(),"linktext= is LinkText");
+        assertEquals(ObjectMapping.ByType.Name,new ObjectMapping("name=hello").getMappingType(),"name= is Name");
+        assertEquals(ObjectMapping.ByType.Partial,new ObjectMapping("partial=Hel").getMappingType(),"partial= is Partial");
+        assertEquals(ObjectMapping.ByType.Tag,new ObjectMapping("tag=div").getMappingType(),"tag= is Tag");
+        assertEquals(ObjectMapping.ByType.XPath,new ObjectMapping("xpath=//div").getMappingType(),"xpath= is XPath");
+        assertEquals(ObjectMapping.ByType.XPath,new ObjectMapping("//div[@id='hello']").getMappingType(),"No prefix is XPath");
+    }
+
+    // Verify Selenium By built from find logic
+    @org.junit.jupiter.api.Test
+    void VerifySeleniumBy() {
+        assertEquals(By.cssSelector("div.hello"),new ObjectMapping("css=div.hello").getSeleniumBy(),"Css By has prefix removed");
+        assertEquals(By.xpath("//div"),new ObjectMapping("xpath=//div").getSeleniumBy(),"XPath By has prefix removed");
+        assertEquals(By.xpath("//div[@id='hello']"),new ObjectMapping("//div[@id='hello']").getSeleniumBy(),"XPath containing = used whole");
+        assertNull(new ObjectMapping(null,"No find logic").getSeleniumBy(),"No find logic gives no By");
+    }
+
+    // Verify mappings with the same find logic share the compiled By
+    @org.junit.jupiter.api.Test
+    void VerifyCompiledFindLogicShared() {
+        ObjectMapping first = new ObjectMapping("//div[@id='shared']","First");
+        ObjectMapping second = new ObjectMapping("//div[@id='shared']","Second");
+        assertSame(first.getSeleniumBy(),second.getSeleniumBy(),"Same By instance used for identical find logic");
+        assertSame(first.getSeleniumBy(),first.getSeleniumBy(),"Same By instance on repeated calls");
+    }
+
+    // Verify resolving parameters gives By for the resolved find logic
+    @org.junit.jupiter.api.Test
+    void VerifyResolvedParametersCompiled() {
+        ObjectMapping mapping = new ObjectMapping("//div[@id='%s']","Div %s");
+        mapping.ResolveParameters("hello");
+        assertEquals(By.xpath("//div[@id='hello']"),mapping.getSeleniumBy(),"By built from resolved find logic");
+        assertEquals("Div hello",mapping.getFriendlyName(),"Friendly name resolved");
+    }
+
+    // Verify find logic cannot be changed once used
+    @org.junit.jupiter.api.Test
+    void VerifyFindLogicImmutableOnceUsed() {
+        ObjectMapping mapping = new ObjectMapping("//div");
+        mapping.getSeleniumBy();
+        assertThrows(RuntimeException.class,() -> mapping.setOriginalFindLogic("//span"),"Original find logic cannot be changed");
+        assertThrows(RuntimeException.class,() -> mapping.setActualFindLogic("//span"),"Actual find logic cannot be changed");
+    }
+
+    // Verify text entry mode is carried to copies of the mapping
+    @org.junit.jupiter.api.Test
+    void VerifyTextEntryModeCopied() {
+        ObjectMapping mapping = new ObjectMapping("//textarea[@id='notes']","Notes");
+        assertNull(mapping.getTextEntryMode(),"No text entry mode by default");
+        mapping.setTextEntryMode(TextEntryMode.DIRECT_VALUE);
+        assertEquals(TextEntryMode.DIRECT_VALUE,mapping.copy().getTextEntryMode(),"Copy has text entry mode");
+    }
+}
@@ -0,0 +1,58 @@
+package TeamControlium.Controlium.Test;
+
+import TeamControlium.Controlium.PollStrategy;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PollStrategyTests {
+
+    // Verify fixed strategy always gives the same interval
+    @org.junit.jupiter.api.Test
+    void VerifyFixedStrategy() {
+        PollStrategy strategy = PollStrategy.fixed(Duration.ofMillis(500));
+        assertEquals(500,strategy.getPollIntervalMillis(0,0),"First poll interval 500mS");
+        assertEquals(500,strategy.getPollIntervalMillis(100,50000),"100th poll interval 500mS");
+    }
+
+    // Verify exponential strategy grows by the multiplier and is capped
+    @org.junit.jupiter.api.Test
+    void VerifyExponentialStrategy() {
+        PollStrategy strategy = PollStrategy.exponential(Duration.ofMillis(10),2.0,Duration.ofMillis(100));
+        assertEquals(10,strategy.getPollIntervalMillis(0,0),"First poll interval is initial interval");
+        assertEquals(20,strategy.getPollIntervalMillis(1,0),"Second poll interval doubled");
+        assertEquals(80,strategy.getPollIntervalMillis(3,0),"Fourth poll interval doubled three times");
+        assertEquals(100,strategy.getPollIntervalMillis(4,0),"Fifth poll interval capped");
+        assertEquals(100,strategy.getPollIntervalMillis(5000,0),"Large poll number capped");
+    }
+
+    // Verify jittered strategy stays within jitter fraction of wrapped strategy
+    @org.junit.jupiter.api.Test
+    void VerifyJitteredStrategy() {
+        PollStrategy strategy = PollStrategy.jittered(PollStrategy.fixed(Duration.ofMillis(100)),0.2);
+        for (int poll=0;poll<1000;poll++) {
+            long interval = strategy.getPollIntervalMillis(poll,0);
+            assertTrue(interval>=80 && interval<=120,String.format("Interval [%d] within 20%% of 100mS",interval));
+        }
+    }
+
+    // Verify fast-first strategy drops back to slow interval after the fast polls
+    @org.junit.jupiter.api.Test
+    void VerifyFastFirstStrategy() {
+        PollStrategy strategy = PollStrategy.fastFirst(3,Duration.ofMillis(10),Duration.ofMillis(500));
+        assertEquals(10,strategy.getPollIntervalMillis(0,0),"First poll is fast");
+        assertEquals(10,strategy.getPollIntervalMillis(2,20),"Third poll is fast");
+        assertEquals(500,strategy.getPollIntervalMillis(3,30),"Fourth poll is slow");
+    }
+
+    // Verify invalid strategy parameters are rejected
+    @org.junit.jupiter.api.Test
+    void VerifyInvalidStrategiesRejected() {
+        assertThrows(RuntimeException.class,() -> PollStrategy.fixed(null),"Null interval rejected");
+        assertThrows(RuntimeException.class,() -> PollStrategy.fixed(Duration.ofMillis(-1)),"Negative interval rejected");
+        assertThrows(RuntimeException.class,() -> PollStrategy.exponential(Duration.ofMillis(10),0.5,Duration.ofMillis(100)),"Shrinking multiplier rejected");
+        assertThrows(RuntimeException.class,() -> PollStrategy.jittered(null,0.1),"Jitter with no strategy rejected");
+        assertThrows(RuntimeException.class,() -> PollStrategy.jittered(PollStrategy.fixed(Duration.ofMillis(10)),1.5),"Jitter fraction over 1 rejected");
+    }
+}
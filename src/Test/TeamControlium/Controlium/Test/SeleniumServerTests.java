@@ -2,6 +2,7 @@ package TeamControlium.Controlium.Test;
 
 import TeamControlium.Controlium.*;
 import TeamControlium.Utilities.TestData;
+import org.apache.commons.lang3.time.StopWatch;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Assertions;
@@ -11,8 +12,12 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -124,6 +129,127 @@ public class SeleniumServerTests {
         seleniumDriver2.CloseDriver();
     }
 
+    // Verify drivers using a shared driver service open sessions on a single driver process, which outlives any one of them
+    @org.junit.jupiter.api.Test
+    void VerifySharedDriverService() {
+        TestData.setItem("Selenium","SharedDriverService","yes");
+        try {
+            int chromeCountBefore=0;
+            int chromeCountAfter=0;
+            for (String[] line: getProcessList()) {
+                if (line[0].equalsIgnoreCase("chromedriver.exe")) chromeCountBefore++;
+            }
+
+            SeleniumDriver seleniumDriver1 = new SeleniumDriver(true);
+            SeleniumDriver seleniumDriver2 = new SeleniumDriver(true);
+            assertTrue(seleniumDriver1.getSharedDriverService(),"Driver using shared driver service");
+
+            for (String[] line: getProcessList()) {
+                if (line[0].equalsIgnoreCase("chromedriver.exe")) chromeCountAfter++;
+            }
+            assertTrue(chromeCountAfter-chromeCountBefore <= 1,"At most one Chrome Driver started for both drivers");
+
+            seleniumDriver1.CloseDriver();
+            seleniumDriver2.gotoURL("https://html.com/tables/");
+            assertFalse(seleniumDriver2.getPageTitle().isEmpty(),"Second driver usable after first closed");
+            seleniumDriver2.CloseDriver();
+        }
+        finally {
+            TestData.setItem("Selenium","SharedDriverService","no");
+        }
+    }
+
+    // Verify pool leases a driver per caller up to its maximum size, reuses released drivers and replaces unhealthy ones
+    @org.junit.jupiter.api.Test
+    void VerifyDriverPoolLeaseAndRelease() {
+        try (SeleniumDriverPool pool = new SeleniumDriverPool(2)) {
+            SeleniumDriver first = pool.lease();
+            SeleniumDriver second = pool.lease();
+            assertNotSame(first,second,"Each lease gets its own driver");
+            assertEquals(2,pool.getLeasedCount(),"Both drivers leased");
+            assertThrows(RuntimeException.class,() -> pool.lease(Duration.ofMillis(500)),"Lease beyond maximum size times out");
+
+            first.gotoURL("https://html.com/tables/");
+            first.gotoURL("https://www.thecodingguys.net/tutorials/html/html-input-element");
+            first.executeJavaScriptNoReturnData("document.cookie = 'poolTest=leaked; path=/'; window.localStorage.setItem('poolTest','leaked');");
+            first.gotoURL("https://html.com/tables/");
+            first.setFindTimeout(Duration.ofSeconds(1));
+            pool.release(first);
+            assertEquals(1,pool.getIdleCount(),"Released driver idle in pool");
+            assertSame(first,pool.lease(),"Released driver reused");
+            assertEquals("about:blank",first.executeJavaScript(String.class,"return window.location.href;"),"Reused driver reset");
+            assertEquals(Duration.ofMinutes(1),first.getElementFindTimeout(),"Reused driver find timeout back to default");
+            first.gotoURL("https://www.thecodingguys.net/tutorials/html/html-input-element");
+            assertFalse(first.executeJavaScript(String.class,"return document.cookie;").contains("poolTest"),"Cookie set on second domain deleted");
+            assertNull(first.executeJavaScript(String.class,"return window.localStorage.getItem('poolTest');"),"Local storage on second domain cleared");
+
+            pool.release(first);
+            first.CloseDriver();
+            SeleniumDriver replacement = pool.lease();
+            assertNotSame(first,replacement,"Unhealthy driver replaced");
+            assertTrue(replacement.isHealthy(),"Replacement driver healthy");
+
+            pool.release(second);
+            assertThrows(RuntimeException.class,() -> pool.release(second),"Driver cannot be released twice");
+            pool.setIdleTimeout(Duration.ZERO);
+            pool.evictIdle();
+            assertEquals(0,pool.getIdleCount(),"Idle driver evicted");
+            pool.release(replacement);
+        }
+    }
+
+    // Verify drivers can be leased and used from parallel threads
+    @org.junit.jupiter.api.Test
+    void VerifyDriverPoolParallelLeases() throws Exception {
+        int threads = 3;
+        try (SeleniumDriverPool pool = new SeleniumDriverPool(threads)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<String>> titles = new ArrayList<>();
+            for (int index = 0; index < threads; index++) {
+                titles.add(executor.submit(() -> {
+                    SeleniumDriver driver = pool.lease();
+                    try {
+                        driver.gotoURL("https://html.com/tables/");
+                        return driver.getPageTitle();
+                    } finally {
+                        pool.release(driver);
+                    }
+                }));
+            }
+            for (Future<String> title : titles) {
+                assertFalse(title.get().isEmpty(),"Page title got in parallel thread");
+            }
+            executor.shutdown();
+            assertTrue(pool.getSize() <= threads,"Pool no bigger than maximum size");
+        }
+    }
+    // Verify pool keeps drivers ready, started in the background, so a lease gets one without waiting for it to start
+    @org.junit.jupiter.api.Test
+    void VerifyDriverPoolWarming() {
+        try (SeleniumDriverPool pool = new SeleniumDriverPool(3)) {
+            pool.setMinReadyCount(1);
+            waitForIdleCount(pool,1);
+
+            StopWatch leaseTime = StopWatch.createStarted();
+            SeleniumDriver driver = pool.lease();
+            assertTrue(leaseTime.getTime() < pool.getAverageStartTime().toMillis(),"Warmed driver leased quicker than a driver starts");
+            waitForIdleCount(pool,1);
+            assertEquals(2,pool.getSize(),"Ready driver replaced in background");
+
+            pool.setMinReadyCount(0);
+            pool.setAdaptiveWarming(true);
+            assertTrue(pool.getTargetReadyCount() >= 1,"Recent lease keeps a driver ready");
+            pool.release(driver);
+        }
+    }
+
+    private void waitForIdleCount(SeleniumDriverPool pool, int idleCount) {
+        StopWatch waited = StopWatch.createStarted();
+        while (pool.getIdleCount() < idleCount) {
+            if (waited.getTime() > 60000) Assertions.fail(String.format("Pool did not have %d idle drivers within 60 seconds",idleCount));
+            try {Thread.sleep(100);} catch(Exception e) {}
+        }
+    }
 
     private List<String[]> getProcessList() {
         boolean startLogging = false;
@@ -0,0 +1,347 @@
+package TeamControlium.Controlium;
+
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+//
+// Javascript injected into the browser by Controlium.  Held in one place so that scripts needing the same in-browser helpers (IE. locating
+// elements using an ObjectMapping's find logic) share a single implementation rather than each carrying its own copy.
+//
+final class BrowserScripts {
+
+    private BrowserScripts() {
+    }
+
+    //
+    // Declares findAll(root, type, value).  Returns an array of all elements matching the find logic value for the given ObjectMapping.ByType name,
+    // searching from root (or the DOM top level if root is null).  Each type mirrors how Selenium resolves the equivalent By.
+    //
+    static final String FIND_ALL_FUNCTION =
+            "var findAll = function(root, type, value) {" +
+            "  var scope = root || document, found = [], i;" +
+            "  var collect = function(candidates, predicate) {" +
+            "    for (i = 0; i < candidates.length; i++) { if (!predicate || predicate(candidates[i])) found.push(candidates[i]); }" +
+            "    return found;" +
+            "  };" +
+            "  var linkText = function(el) { return (el.innerText || el.textContent || '').trim(); };" +
+            "  switch (type) {" +
+            "    case 'XPath':" +
+            "      var snapshot = document.evaluate(value, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      for (i = 0; i < snapshot.snapshotLength; i++) { if (snapshot.snapshotItem(i).nodeType === 1) found.push(snapshot.snapshotItem(i)); }" +
+            "      return found;" +
+            "    case 'Css': return collect(scope.querySelectorAll(value));" +
+            "    case 'Id': return collect(scope.getElementsByTagName('*'), function(el) { return el.id === value; });" +
+            "    case 'Name': return collect(scope.getElementsByTagName('*'), function(el) { return el.getAttribute('name') === value; });" +
+            "    case 'Class': return collect(scope.getElementsByClassName(value));" +
+            "    case 'Tag': return collect(scope.getElementsByTagName(value));" +
+            "    case 'LinkText': return collect(scope.getElementsByTagName('a'), function(el) { return linkText(el) === value; });" +
+            "    case 'Partial': return collect(scope.getElementsByTagName('a'), function(el) { return linkText(el).indexOf(value) >= 0; });" +
+            "    default: throw new Error('Unsupported find logic type [' + type + ']');" +
+            "  }" +
+            "};";
+
+    //
+    // Declares findEach(root, locators).  locators is an array of [type, value] pairs; returns an array holding, for each locator, the array of
+    // elements it matches (See findAll).
+    //
+    static final String FIND_EACH_FUNCTION = FIND_ALL_FUNCTION +
+            "var findEach = function(root, locators) {" +
+            "  var results = [], index;" +
+            "  for (index = 0; index < locators.length; index++) results.push(findAll(root, locators[index][0], locators[index][1]));" +
+            "  return results;" +
+            "};";
+
+    //
+    // Arguments: root element (or null), array of [type, value] locators.  Returns, for each locator, the array of elements it matches; so any number
+    // of ObjectMappings can be resolved in a single round trip.
+    //
+    static final String FIND_ELEMENTS = FIND_EACH_FUNCTION +
+            "return findEach(arguments[0], arguments[1]);";
+
+    //
+    // Arguments: root element (or null), array of [type, value] locators.  Resolves a chain; each locator finding from the element the one before
+    // it matched (the first from root).  Returns, for each level resolved, the elements it matches; stopping after the first level that does not
+    // match exactly one element.  So a chain of any depth is resolved in a single round trip.
+    //
+    static final String FIND_CHAIN = FIND_ALL_FUNCTION +
+            "var scope = arguments[0], locators = arguments[1], results = [], matches, index;" +
+            "for (index = 0; index < locators.length; index++) {" +
+            "  matches = findAll(scope, locators[index][0], locators[index][1]);" +
+            "  results.push(matches);" +
+            "  if (matches.length !== 1) break;" +
+            "  scope = matches[0];" +
+            "}" +
+            "return results;";
+
+    //
+    // Async script.  Arguments: root element (or null), array of [type, value] locators, require single match, timeout (mS).
+    // Returns, for each locator, the matching elements as soon as the find is satisfied; every locator matching at least one element (or, if
+    // requiring a single match, exactly one).  Between checks a MutationObserver re-evaluates the find whenever the DOM changes, so there is no
+    // polling.  Re-evaluation is done at most once per animation frame, however many changes there are, so busy pages do not re-run the find for
+    // every batch of changes.  If the timeout is reached whatever currently matches (maybe nothing) is returned.
+    //
+    static final String WAIT_FOR_ELEMENTS = FIND_EACH_FUNCTION +
+            "var root = arguments[0], locators = arguments[1], requireSingle = arguments[2], timeoutMillis = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var observer = null, timer = null, finished = false, scheduled = false;" +
+            "var finish = function(results) {" +
+            "  if (finished) return;" +
+            "  finished = true;" +
+            "  if (observer) observer.disconnect();" +
+            "  if (timer) clearTimeout(timer);" +
+            "  done(results);" +
+            "};" +
+            "var check = function() {" +
+            "  var results = findEach(root, locators), index;" +
+            "  for (index = 0; index < results.length; index++) {" +
+            "    if (results[index].length === 0 || (requireSingle && results[index].length !== 1)) return;" +
+            "  }" +
+            "  finish(results);" +
+            "};" +
+            "var scheduleCheck = function() {" +
+            "  if (scheduled || finished) return;" +
+            "  scheduled = true;" +
+            "  var run = function() { scheduled = false; if (!finished) check(); };" +
+            "  if (document.hidden || !window.requestAnimationFrame) setTimeout(run, 16); else window.requestAnimationFrame(run);" +
+            "};" +
+            "check();" +
+            "if (!finished) {" +
+            "  observer = new MutationObserver(scheduleCheck);" +
+            "  observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });" +
+            "  timer = setTimeout(function() { finish(findEach(root, locators)); }, timeoutMillis);" +
+            "}";
+
+    //
+    // Declares cursors; the page's registry of open element cursors (See OPEN_ELEMENT_CURSOR).  Held on window so it lasts between script calls,
+    // and goes when the page does.
+    //
+    private static final String CURSORS_DECLARATION =
+            "var cursors = window.__controliumCursors = window.__controliumCursors || { nextId: 1, open: {} };";
+
+    //
+    // Arguments: root element (or null), find logic type, find logic value, chunk size.  Finds all matching elements and returns
+    // [cursor id, total matches, first chunk of matches].  If there are more matches than fit in the first chunk they are held in the browser,
+    // against the cursor id, for FETCH_ELEMENT_CURSOR.  Otherwise nothing is held and cursor id is 0.
+    //
+    static final String OPEN_ELEMENT_CURSOR = FIND_ALL_FUNCTION + CURSORS_DECLARATION +
+            "var matches = findAll(arguments[0], arguments[1], arguments[2]), first = matches.slice(0, arguments[3]), id = 0;" +
+            "if (matches.length > first.length) { id = cursors.nextId++; cursors.open[id] = matches; }" +
+            "return [id, matches.length, first];";
+
+    //
+    // Arguments: cursor id, start index, chunk size.  Returns next chunk of the cursor's matches, releasing the cursor once its last match has been
+    // returned.  Returns null if the cursor does not exist (IE. page has been navigated away from).
+    //
+    static final String FETCH_ELEMENT_CURSOR = CURSORS_DECLARATION +
+            "var matches = cursors.open[arguments[0]], end = arguments[1] + arguments[2];" +
+            "if (!matches) return null;" +
+            "if (end >= matches.length) delete cursors.open[arguments[0]];" +
+            "return matches.slice(arguments[1], end);";
+
+    //
+    // Arguments: cursor id.  Releases the cursor's matches.
+    //
+    static final String CLOSE_ELEMENT_CURSOR = CURSORS_DECLARATION +
+            "delete cursors.open[arguments[0]];";
+
+    //
+    // Async script.  Arguments: element, number of frames, timeout (mS).  Samples the element's bounding rectangle every animation frame and
+    // returns true as soon as it has been the same for the given number of consecutive frames, or false if still changing at timeout.  Browsers
+    // do not run animation frames for hidden pages so, if hidden, samples at a nominal frame rate instead.
+    //
+    static final String WAIT_FOR_RECT_STABLE =
+            "var element = arguments[0], stableFrames = arguments[1], timeoutMillis = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var schedule = (document.hidden || !window.requestAnimationFrame) ? function(next) { setTimeout(next, 16); } : function(next) { window.requestAnimationFrame(next); };" +
+            "var start = Date.now(), last = null, sameFrames = 0;" +
+            "var sample = function() {" +
+            "  var rect = element.getBoundingClientRect();" +
+            "  var current = rect.left + ',' + rect.top + ',' + rect.right + ',' + rect.bottom;" +
+            "  sameFrames = (current === last) ? sameFrames + 1 : 0;" +
+            "  last = current;" +
+            "  if (sameFrames >= stableFrames) { done(true); return; }" +
+            "  if (Date.now() - start >= timeoutMillis) { done(false); return; }" +
+            "  schedule(sample);" +
+            "};" +
+            "sample();";
+
+    //
+    // Arguments: element, array of property names (See StabilityProperty).  Returns the current value, as a string, of each property; "rect" being
+    // the bounding client rectangle (left,top,right,bottom), "style:name" the named computed style and anything else the named element property.
+    //
+    static final String SAMPLE_PROPERTIES =
+            "var element = arguments[0], properties = arguments[1], values = [], index, property, rect;" +
+            "for (index = 0; index < properties.length; index++) {" +
+            "  property = properties[index];" +
+            "  if (property === 'rect') { rect = element.getBoundingClientRect(); values.push(rect.left + ',' + rect.top + ',' + rect.right + ',' + rect.bottom); }" +
+            "  else if (property.indexOf('style:') === 0) values.push(window.getComputedStyle(element).getPropertyValue(property.substring(6)));" +
+            "  else values.push(String(element[property]));" +
+            "}" +
+            "return values;";
+
+    //
+    // Selenium's own isDisplayed script (the one its W3C wire protocol runs for WebElement.isDisplayed), so an element is displayed by the same rules
+    // whether asked through Selenium or in a snapshot.  Null if it cannot be loaded from the Selenium jar.
+    //
+    private static final String SELENIUM_IS_DISPLAYED = seleniumScript("/org/openqa/selenium/remote/isDisplayed.js");
+
+    //
+    // Rough displayed check; only used if Selenium's isDisplayed script cannot be loaded.
+    //
+    private static final String DISPLAYED_HEURISTIC =
+            "function(element) {" +
+            "  var style = window.getComputedStyle(element);" +
+            "  return !!(element.offsetWidth || element.offsetHeight || element.getClientRects().length) && style.visibility !== 'hidden' && style.visibility !== 'collapse';" +
+            "}";
+
+    //
+    // Arguments: element, array of ElementSnapshot.Property names.  Returns an object holding only the properties asked for; rect as
+    // [left, top, width, height], size as [clientHeight, clientWidth] and attributes as name/value pairs.  Attribute values are the element's
+    // property of the same name where it has a simple one (so "value" and "checked" are current, as Selenium getAttribute gives) otherwise the
+    // attribute's value.  Needs isDisplayed declared; use ELEMENT_SNAPSHOT or, if DISPLAYED is wanted, ELEMENT_SNAPSHOT_DISPLAYED.
+    //
+    private static final String ELEMENT_SNAPSHOT_BODY =
+            "var element = arguments[0], properties = arguments[1], snapshot = {}, index, rect, attribute, property;" +
+            "var wanted = function(name) { return properties.indexOf(name) >= 0; };" +
+            "if (wanted('RECT') || wanted('IN_VIEWPORT')) rect = element.getBoundingClientRect();" +
+            "if (wanted('RECT')) snapshot.rect = [rect.left, rect.top, rect.width, rect.height];" +
+            "if (wanted('SIZE')) snapshot.size = [element.clientHeight, element.clientWidth];" +
+            "if (wanted('DISPLAYED')) snapshot.displayed = !!isDisplayed(element);" +
+            "if (wanted('IN_VIEWPORT')) snapshot.inViewport = rect.top >= 0 && rect.left >= 0 && rect.bottom <= (window.innerHeight || document.documentElement.clientHeight) && rect.right <= (window.innerWidth || document.documentElement.clientWidth);" +
+            "if (wanted('ENABLED')) snapshot.enabled = !(element.matches && element.matches(':disabled'));" +
+            "if (wanted('TEXT')) snapshot.text = (element.innerText === undefined) ? element.textContent : element.innerText;" +
+            "if (wanted('ATTRIBUTES')) {" +
+            "  snapshot.attributes = {};" +
+            "  for (index = 0; index < element.attributes.length; index++) {" +
+            "    attribute = element.attributes[index];" +
+            "    property = element[attribute.name];" +
+            "    snapshot.attributes[attribute.name] = (typeof property === 'string' || typeof property === 'number' || typeof property === 'boolean') ? String(property) : attribute.value;" +
+            "  }" +
+            "}" +
+            "return snapshot;";
+
+    static final String ELEMENT_SNAPSHOT = "var isDisplayed = null;" + ELEMENT_SNAPSHOT_BODY;
+    static final String ELEMENT_SNAPSHOT_DISPLAYED = "var isDisplayed = " + ((SELENIUM_IS_DISPLAYED == null) ? DISPLAYED_HEURISTIC : SELENIUM_IS_DISPLAYED) + ";" + ELEMENT_SNAPSHOT_BODY;
+
+    //
+    // Arguments: element.  Returns the element's own text; its direct child text (and CDATA) nodes joined, excluding all descendant elements' text.
+    //
+    static final String OWN_TEXT =
+            "var nodes = arguments[0].childNodes, text = '', index;" +
+            "for (index = 0; index < nodes.length; index++) {" +
+            "  if (nodes[index].nodeType === 3 || nodes[index].nodeType === 4) text += nodes[index].nodeValue;" +
+            "}" +
+            "return text;";
+
+    //
+    // Arguments: array of [element, value] fields.  Sets each field's value as a user's entry would end up; text inputs and textareas through the
+    // native value setter (so frameworks tracking the value see the change), checkboxes and radios clicked if not already as wanted ("true", "yes",
+    // "on", "checked", "y" or "1" being checked), selects to the option with the value (or text) and content editables' text.  Each field is
+    // focused first and then sent input, change and blur events.  Returns, for each field, null if set, "KEYSTROKES" if it can only be set by typing
+    // (IE. a file input) or why it could not be set.
+    //
+    static final String FILL_FIELDS =
+            "var fields = arguments[0], results = [], index;" +
+            "var fire = function(element, name) { element.dispatchEvent(new Event(name, { bubbles: true })); };" +
+            "var fill = function(element, value) {" +
+            "  var tag = element.tagName, type = (element.type || '').toLowerCase(), wanted, option, optionIndex, prototype;" +
+            "  if (tag === 'INPUT' && type === 'file') return 'KEYSTROKES';" +
+            "  if (element.disabled) return 'field is disabled';" +
+            "  if (element.readOnly) return 'field is read only';" +
+            "  if (element.focus) element.focus();" +
+            "  if (tag === 'INPUT' && (type === 'checkbox' || type === 'radio')) {" +
+            "    wanted = /^(true|yes|on|checked|y|1)$/i.test(value);" +
+            "    if (element.checked !== wanted) element.click();" +
+            "    if (element.checked !== wanted) return 'checked state [' + element.checked + '] after clicking';" +
+            "  } else if (tag === 'SELECT') {" +
+            "    option = null;" +
+            "    for (optionIndex = 0; optionIndex < element.options.length && option === null; optionIndex++) { if (element.options[optionIndex].value === value) option = element.options[optionIndex]; }" +
+            "    for (optionIndex = 0; optionIndex < element.options.length && option === null; optionIndex++) { if (element.options[optionIndex].text === value) option = element.options[optionIndex]; }" +
+            "    if (option === null) return 'no option with value or text [' + value + ']';" +
+            "    option.selected = true;" +
+            "    fire(element, 'input'); fire(element, 'change');" +
+            "  } else if (tag === 'INPUT' || tag === 'TEXTAREA') {" +
+            "    prototype = (tag === 'INPUT') ? HTMLInputElement.prototype : HTMLTextAreaElement.prototype;" +
+            "    Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);" +
+            "    fire(element, 'input'); fire(element, 'change');" +
+            "    if (element.value !== value) return 'value is [' + element.value + '] after setting';" +
+            "  } else if (element.isContentEditable) {" +
+            "    element.textContent = value;" +
+            "    fire(element, 'input');" +
+            "  } else return 'element [' + tag + '] is not a form field';" +
+            "  if (element.blur && document.activeElement === element) element.blur(); else fire(element, 'blur');" +
+            "  return null;" +
+            "};" +
+            "for (index = 0; index < fields.length; index++) {" +
+            "  try { results.push(fill(fields[index][0], fields[index][1] === null ? '' : String(fields[index][1]))); }" +
+            "  catch (error) { results.push('error setting value: ' + error.message); }" +
+            "}" +
+            "return results;";
+
+    //
+    // Arguments: element, text, append (true to add text to the value, as typing does, otherwise replace it), original value (or null for the current
+    // value).  Sets the value of an input or textarea (through the native setter so frameworks tracking the value see it) or the text of a content
+    // editable; when appending, to the original value plus the text.  Returns [original value, value afterwards], so the caller can check it in the
+    // same call and a retry can append to the same original, or null if the element cannot take text.
+    //
+    // Fires input and change events as typing would, but only one keydown, keypress and keyup (for the last character of the text) rather than one
+    // per character.  Pages acting on each key (IE. masked inputs) need text entered as keystrokes.
+    //
+    static final String SET_TEXT_DIRECT =
+            "var element = arguments[0], text = arguments[1], append = arguments[2], original = arguments[3], tag = element.tagName, prototype, key;" +
+            "var editable = !(tag === 'INPUT' || tag === 'TEXTAREA') && element.isContentEditable;" +
+            "if (!(tag === 'INPUT' || tag === 'TEXTAREA' || editable) || element.disabled || element.readOnly) return null;" +
+            "if (original === null || original === undefined) original = editable ? element.textContent : element.value;" +
+            "var value = append ? original + text : text;" +
+            "key = (text.length > 0) ? text.charAt(text.length - 1) : '';" +
+            "var fireKey = function(name) { element.dispatchEvent(new KeyboardEvent(name, { key: key, bubbles: true, cancelable: true })); };" +
+            "if (element.focus) element.focus();" +
+            "fireKey('keydown'); fireKey('keypress');" +
+            "if (editable) element.textContent = value;" +
+            "else { prototype = (tag === 'INPUT') ? HTMLInputElement.prototype : HTMLTextAreaElement.prototype; Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value); }" +
+            "element.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "fireKey('keyup');" +
+            "element.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "return [original, editable ? element.textContent : element.value];";
+
+    //
+    // Arguments: array of elements.  Returns [page id, removal count, connected] with connected holding, for each element, whether it is still in
+    // the page.  The first call on a page gives it a random id and attaches a MutationObserver counting each batch of DOM changes that removes an
+    // element; so a page's id changes when navigated (or reloaded) and its removal count when any subtree is removed or replaced.  Pending changes are
+    // taken (takeRecords) before counting so the count is current.
+    //
+    static final String DOM_GENERATION =
+            "var elements = arguments[0], tracker = window.__controliumGeneration, connected = [], index;" +
+            "if (!tracker) {" +
+            "  tracker = window.__controliumGeneration = { pageId: Date.now().toString(36) + Math.random().toString(36).substring(2), removals: 0 };" +
+            "  tracker.count = function(records) {" +
+            "    var record, node;" +
+            "    for (record = 0; record < records.length; record++) {" +
+            "      for (node = 0; node < records[record].removedNodes.length; node++) { if (records[record].removedNodes[node].nodeType === 1) { tracker.removals++; return; } }" +
+            "    }" +
+            "  };" +
+            "  tracker.observer = new MutationObserver(tracker.count);" +
+            "  tracker.observer.observe(document, { childList: true, subtree: true });" +
+            "}" +
+            "tracker.count(tracker.observer.takeRecords());" +
+            "for (index = 0; index < elements.length; index++) connected.push(!!elements[index] && document.documentElement.contains(elements[index]));" +
+            "return [tracker.pageId, tracker.removals, connected];";
+
+    //
+    // Clears the current page's local and session storage.  Storage that cannot be accessed (IE. a blank or file page) is ignored.
+    //
+    static final String CLEAR_STORAGE =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private static String seleniumScript(String resource) {
+        try (InputStream script = RemoteWebDriver.class.getResourceAsStream(resource)) {
+            return (script == null) ? null : IOUtils.toString(script, StandardCharsets.UTF_8).trim();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -9,7 +9,8 @@ public class Browsers {
 
     /// <summary>
     /// Supported Browsers.  Browser is set when SeleniumDriver is instantiated.  SeleniumDriver gets the Browser to be used from the run configuration
-    /// option "Browser" in category "Selenium".
+    /// option "Browser" in category "Selenium".  Each SeleniumDriver has its own Browsers instance (See SeleniumDriver.getBrowser) so drivers for
+    /// different browsers can be run at the same time.
     /// <para/><para/>
     /// When running remote Selenium the browser/version is used in the Desired Capabilities to request
     /// that browser and version.
@@ -39,18 +40,18 @@ public class Browsers {
     /// Browser Selenium script executing against
     /// </summary>
     /// <seealso cref="Browsers">Lists all possible Browser &amp; versions than can be returned.</seealso>
-    private static BrowserType _TestBrowser;
+    private BrowserType _TestBrowser;
 
-    public static BrowserType getBrowserType() {
+    public BrowserType getBrowserType() {
         return _TestBrowser;
     }
 
     /// <summary>
     /// Returns true if target browser is any version of Chrome.  Note that this is set when Test Browser is set
     /// </summary>
-    private static boolean _IsChrome;
+    private boolean _IsChrome;
 
-    public static boolean isChrome() {
+    public boolean isChrome() {
         return _IsChrome;
     }
 
@@ -58,39 +59,49 @@ public class Browsers {
     /// <summary>
     /// Returns true if target browser is any version of Internet Explorer
     /// </summary>
-    private static boolean _IsInternetExplorer;
+    private boolean _IsInternetExplorer;
 
-    public static boolean isInternetExplorer() {
+    public boolean isInternetExplorer() {
         return _IsInternetExplorer;
     }
 
     /// <summary>
     /// Returns true if target browser is any version of Edge
     /// </summary>
-    private static boolean _isEdge;
+    private boolean _isEdge;
 
-    public static boolean isEdge() {
+    public boolean isEdge() {
         return _isEdge;
     }
 
     /// <summary>
     /// Returns true if target browser is any version of Safari browser
     /// </summary>
-    private static boolean _isSafari;
+    private boolean _isSafari;
 
-    public static boolean isSafari() {
+    public boolean isSafari() {
         return _isSafari;
     }
 
-    private static boolean testBrowserHasBeenSet = false;
+    private boolean testBrowserHasBeenSet = false;
+
+    /// <summary>
+    /// Browser from RunSetting "Selenium", "Browser" or, if not set, the given browser name
+    /// </summary>
+    public Browsers() {
+        SetTestBrowser(null);
+    }
+    public Browsers(String browser) {
+        SetTestBrowser(browser);
+    }
 
     /// <summary>
     /// Sets the Browser being used for testing.  Expects RunSetting "Selenium", "Browser" to be set
     /// </summary>
-    public static void SetTestBrowser() {
+    public void SetTestBrowser() {
         SetTestBrowser(null);
     }
-    public static void SetTestBrowser(String browser) {
+    public void SetTestBrowser(String browser) {
         _IsChrome = false;
         _IsInternetExplorer = false;
         _isSafari = false;
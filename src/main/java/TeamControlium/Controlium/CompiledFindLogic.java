@@ -0,0 +1,111 @@
+package TeamControlium.Controlium;
+
+import org.openqa.selenium.By;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//
+// Find logic string resolved to its type, value (find logic with any type prefix removed) and Selenium By.  Immutable, so a single instance is
+// shared by every ObjectMapping (on any page or thread) using the same find logic; see compile.
+//
+final class CompiledFindLogic {
+
+    private static final int maxCachedFindLogic = 4096;
+
+    //
+    // Intern cache of compiled find logic keyed by find logic string.  Bounded; least recently used entries dropped when full.
+    //
+    private static final Map<String, CompiledFindLogic> cache = new LinkedHashMap<String, CompiledFindLogic>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledFindLogic> eldest) {
+            return size() > maxCachedFindLogic;
+        }
+    };
+
+    private final String _findLogic;
+    private final ObjectMapping.ByType _type;
+    private final String _value;
+    private final By _seleniumBy;
+
+    private CompiledFindLogic(String findLogic, ObjectMapping.ByType type, String value, By seleniumBy) {
+        _findLogic = findLogic;
+        _type = type;
+        _value = value;
+        _seleniumBy = seleniumBy;
+    }
+
+    String getFindLogic() { return _findLogic; }
+    ObjectMapping.ByType getType() { return _type; }
+    String getValue() { return _value; }
+    By getSeleniumBy() { return _seleniumBy; }
+
+    //
+    // Returns the shared compiled instance of the find logic, compiling and caching it if not already cached.
+    //
+    static CompiledFindLogic compile(String findLogic) {
+        CompiledFindLogic compiled;
+        synchronized (cache) {
+            compiled = cache.get(findLogic);
+        }
+        if (compiled == null) {
+            compiled = parse(findLogic);
+            synchronized (cache) {
+                CompiledFindLogic existing = cache.putIfAbsent(findLogic, compiled);
+                if (existing != null) compiled = existing;
+            }
+        }
+        return compiled;
+    }
+
+    //
+    // Compiles xpath find logic without caching it.  Used for one-off find logic (IE. xpath indexed to a single element of a findElements
+    // result) that would only flush useful entries from the cache.
+    //
+    static CompiledFindLogic xpath(String xpath) {
+        return new CompiledFindLogic(xpath, ObjectMapping.ByType.XPath, xpath, By.xpath(xpath));
+    }
+
+    static int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    //
+    // Find logic is either [type]=[value] (IE. "css=div.hello") or, if no recognised type, xpath.
+    //
+    private static CompiledFindLogic parse(String findLogic) {
+        int equalsIndex = findLogic.indexOf('=');
+        String type = (equalsIndex < 0) ? "xpath" : findLogic.substring(0, equalsIndex);
+        String value = (equalsIndex < 0) ? findLogic : findLogic.substring(equalsIndex + 1);
+
+        switch (type) {
+            case "id":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Id, value, By.id(value));
+            case "class":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Class, value, By.className(value));
+            case "css":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Css, value, By.cssSelector(value));
+            case "linktext":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.LinkText, value, By.linkText(value));
+            case "name":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Name, value, By.name(value));
+            case "partial":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Partial, value, By.partialLinkText(value));
+            case "tag":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.Tag, value, By.tagName(value));
+            case "xpath":
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.XPath, value, By.xpath(value));
+            default:
+                // No recognised type so whole find logic is xpath (which may itself contain an '=')
+                return new CompiledFindLogic(findLogic, ObjectMapping.ByType.XPath, findLogic, By.xpath(findLogic));
+        }
+    }
+}
@@ -4,9 +4,17 @@ package TeamControlium.Controlium;
 import TeamControlium.Utilities.Logger;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.http.MethodNotSupportedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 
 
@@ -26,6 +34,7 @@ public abstract class ControlBase {
     }
 
     protected HTMLElement _RootElement;
+    private TextEntryMode _textEntryMode;
 
     public HTMLElement getRootElement() {
         if (_RootElement == null) {
@@ -37,7 +46,7 @@ public abstract class ControlBase {
 
     protected HTMLElement setRootElement(HTMLElement element) {
         _RootElement = element;
-        setMapping(element.getMappingDetails());
+        if (element != null) setMapping(element.getMappingDetails());
         return _RootElement;
     }
 
@@ -69,8 +78,68 @@ public abstract class ControlBase {
     }
 
 
+    //
+    // Control cache.  Off by default.  Root elements of set controls are cached keyed by driver, control type, parent control's element and control
+    // mapping find logic, so setting on the same control again (IE. page objects re-setting controls each time they are used) need not do a find.
+    // On a cache hit the cached element is checked for staleness (single, cheap, round trip) and, if still in the DOM, used; controlBeingSet is
+    // then called with isFirstSetting false.  Least recently used entries are dropped when the cache is full.
+    //
+    // A cached element is only checked to still be in the page, not to still match its find logic, and no find wait is done.  So only enable the
+    // cache where find logic does not depend on things that change while the element stays in the page (IE. class, text or position).
+    //
+    private static final int defaultMaxCacheSize = 512;
+    private static volatile boolean _cacheEnabled = false;
+    private static volatile int _maxCacheSize = defaultMaxCacheSize;
+    private static final Map<ControlCacheKey, HTMLElement> controlCache = new LinkedHashMap<ControlCacheKey, HTMLElement>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ControlCacheKey, HTMLElement> eldest) {
+            return size() > _maxCacheSize;
+        }
+    };
+
+    public static boolean setCacheEnabled(boolean cacheEnabled) {
+        _cacheEnabled = cacheEnabled;
+        if (!cacheEnabled) clearCache();
+        return getCacheEnabled();
+    }
+    public static boolean getCacheEnabled() { return _cacheEnabled; }
+
+    public static int setMaxCacheSize(int maxCacheSize) {
+        if (maxCacheSize < 1) {
+            throw new RuntimeException(String.format("Control cache maximum size [%d] must be 1 or more", maxCacheSize));
+        }
+        synchronized (controlCache) {
+            _maxCacheSize = maxCacheSize;
+            Iterator<ControlCacheKey> eldest = controlCache.keySet().iterator();
+            while (controlCache.size() > _maxCacheSize) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return getMaxCacheSize();
+    }
+    public static int getMaxCacheSize() { return _maxCacheSize; }
+
+    public static int getCacheSize() {
+        synchronized (controlCache) {
+            return controlCache.size();
+        }
+    }
+
     public static void clearCache() {
-        throw new RuntimeException("No caching implemented yet!");
+        synchronized (controlCache) {
+            controlCache.clear();
+        }
+        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Control cache cleared");
+    }
+
+    //
+    // Removes all cached controls set using the given driver.  Called when driver is closed, as none of its elements can be used again.
+    //
+    public static void clearCache(SeleniumDriver seleniumDriver) {
+        synchronized (controlCache) {
+            controlCache.keySet().removeIf(key -> key.seleniumDriver == seleniumDriver);
+        }
     }
 
 
@@ -89,45 +158,79 @@ public abstract class ControlBase {
         return setControl(seleniumDriver, null, newControl);
     }
     public static <T extends ControlBase> T setControl(SeleniumDriver seleniumDriver, ControlBase parentControl, T newControl) {
+        return setControl(seleniumDriver, parentControl, newControl, true, null);
+    }
+
+    //
+    // checkParentChain false when the parent chain is known to be current (IE. we are refreshing it from the top down).  resolvedElement, if not
+    // null, is the control's element already found (IE. by a chain find) so no find is needed.
+    //
+    private static <T extends ControlBase> T setControl(SeleniumDriver seleniumDriver, ControlBase parentControl, T newControl, boolean checkParentChain, HTMLElement resolvedElement) {
         if (newControl == null) throw new RuntimeException("newControl Null!");
 
         StopWatch timeWaited = StopWatch.createStarted();
 
         try {
-            Logger.WriteLine(Logger.LogLevels.TestInformation, "Setting on Control [%s] from Parent [%s]",
+            if (Log.isEnabled(Logger.LogLevels.TestInformation)) Logger.WriteLine(Logger.LogLevels.TestInformation, "Setting on Control [%s] from Parent [%s]",
                     newControl.getMapping() == null ? "No mapping logic!" : newControl.getMapping().getFriendlyName(),
                     parentControl == null ? "No parent Control - So Top Level control" : parentControl.getMapping() == null ? "No mapping logic!" : parentControl.getMapping().getFriendlyName());
 
             //
-            // Check if ParentControl has become stale (has been redrawn).  If so, refresh it (force a new findElement on it).  Note that this
-            // will effectively ripple up to the top level
+            // Check if any control in the parent chain has become stale (has been redrawn).  If so, refresh it (force a new findElement on it).  The
+            // whole chain is checked at once and, if any need re-finding, they are found along with this control in a single chain find (See
+            // refreshStaleAncestors).
             //
-            if (parentControl != null && parentControl.isStale()) {
-                Logger.WriteLine(Logger.LogLevels.TestInformation, "Parent control is stale. Refreshing");
-                parentControl.setRootElement((HTMLElement) null);
-                ControlBase refreshedParentControl = ControlBase.setControl(parentControl.getSeleniumDriver(), parentControl.getParentControl(), parentControl);
-                parentControl = refreshedParentControl;
-            }
+            boolean needsFind = (newControl._RootElement == null || !newControl.getRootElement().isBoundToAWebElement());
+            HTMLElement[] chainFoundElement = new HTMLElement[1];
+            DomGeneration currentGeneration = (parentControl != null && checkParentChain) ? refreshStaleAncestors(seleniumDriver, parentControl, (needsFind && resolvedElement == null) ? newControl.getMapping() : null, chainFoundElement) : null;
+            if (resolvedElement == null) resolvedElement = chainFoundElement[0];
 
             //
             // We may just be wrapping an Element in a Control that has already been found.  In which case, dont bother
-            // to do a find for it....
+            // to do a find for it....  Or, if we have set on this control before and its element is still in the DOM, use that.
             //
-            if (newControl._RootElement == null || !newControl.getRootElement().isBoundToAWebElement()) {
-                Logger.WriteLine(Logger.LogLevels.TestDebug, "New control root element is null or unbound to a Selenium element.  So finding element");
+            boolean isFirstSetting = true;
+            ControlCacheKey cacheKey = (getCacheEnabled() && newControl.getMapping() != null && (parentControl == null || (parentControl._RootElement != null && parentControl._RootElement.isBoundToAWebElement()))) ? new ControlCacheKey(seleniumDriver, parentControl, newControl) : null;
+            HTMLElement cachedElement = null;
+            if (needsFind && resolvedElement == null && cacheKey != null) {
+                cachedElement = getCachedElement(seleniumDriver, cacheKey, currentGeneration);
+            }
+
+            if (cachedElement != null) {
+                if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Control cache hit.  Using cached element [%s]", cachedElement.getFriendlyName());
+                //
+                // New element around the cached WebElement, so the new control keeps its own mapping (friendly name, text entry mode etc.)
+                //
+                HTMLElement element = new HTMLElement((parentControl == null) ? seleniumDriver : parentControl.getRootElement(), cachedElement.getUnderlyingWebElement(), newControl.getMapping());
+                element.setBoundGeneration(cachedElement.getBoundGeneration());
+                newControl.setRootElement(element);
+                isFirstSetting = false;
+            }
+            else if (needsFind) {
+                Log.writeLine(Logger.LogLevels.TestDebug, "New control root element is null or unbound to a Selenium element.  So finding element");
 
                 //
                 // If the control is top level we have to use the driver find.  If not then we apply the find from the root of the parent control
                 //
                 HTMLElement element;
-                if (parentControl==null) {
+                if (resolvedElement != null) {
+                    element = resolvedElement;
+                }
+                else if (parentControl==null) {
                     element = seleniumDriver.findElement(newControl.getMapping());
                 }
                 else
                 {
                     element = parentControl.getRootElement().findElement(newControl.getMapping());
                 }
+                // Generation was read before the find so, if anything has been removed since, the element will be checked next time
+                element.setBoundGeneration(currentGeneration);
                 newControl.setRootElement(element);
+                if (cacheKey != null) {
+                    synchronized (controlCache) {
+                        controlCache.put(cacheKey, element);
+                    }
+                }
             }
 
             //
@@ -136,11 +239,7 @@ public abstract class ControlBase {
             newControl.setSeleniumDriver(seleniumDriver);
             newControl.setParentControl(parentControl); // This may be null.  So, new control is top level....
 
-            //
-            // THIS IS WHERE THE CACHE CONTROL WILL BE DONE....  No NEED FOR MVP. WE ARE SOOOO AGILE! lol
-            // For now, we will just assume Cache Miss
-            //
-            newControl.controlBeingSet(true);
+            newControl.controlBeingSet(isFirstSetting);
 
             return newControl;
         } catch (Exception e) {
@@ -149,6 +248,159 @@ public abstract class ControlBase {
         }
     }
 
+    //
+    // Returns cached element for the key, or null if not cached or cached element has gone stale (in which case it is dropped from the cache).
+    // If the element was bound at the current DOM generation it cannot be stale; otherwise it is checked (single, cheap, round trip).
+    //
+    private static HTMLElement getCachedElement(SeleniumDriver seleniumDriver, ControlCacheKey cacheKey, DomGeneration currentGeneration) {
+        HTMLElement cachedElement;
+        synchronized (controlCache) {
+            cachedElement = controlCache.get(cacheKey);
+        }
+        if (cachedElement == null) return null;
+        if (currentGeneration != null && currentGeneration.equals(cachedElement.getBoundGeneration())) return cachedElement;
+
+        String staleReason;
+        try {
+            boolean[] connected = new boolean[1];
+            DomGeneration generation = seleniumDriver.checkConnected(Collections.singletonList(cachedElement.getUnderlyingWebElement()), connected);
+            if (connected[0]) {
+                cachedElement.setBoundGeneration(generation);
+                return cachedElement;
+            }
+            staleReason = "no longer in page";
+        } catch (Exception e) {
+            staleReason = e.getMessage();
+        }
+        if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Cached element [%s] is stale (%s).  Dropping from cache", cachedElement.getFriendlyName(), staleReason);
+        synchronized (controlCache) {
+            controlCache.remove(cacheKey, cachedElement);
+        }
+        return null;
+    }
+
+    //
+    // Checks every control in the parent chain for staleness and re-finds, top down, any that are.  Controls whose elements were bound at the current
+    // DOM generation cannot be stale, and those bound on a previous page must be, so only the rest need their elements checked; all together in
+    // a single call.  So a clean chain, however deep, costs one round trip.  Returns the generation the chain is current at (null if not known).
+    //
+    // Controls needing re-finding (stale or never set) are found in a single chain find, from the first of them down, along with childMapping (the
+    // control being set, if it needs finding) whose element is returned in childElement[0].  Any level the chain find cannot resolve to a single
+    // element (and all below it) is found level by level as normal.
+    //
+    private static DomGeneration refreshStaleAncestors(SeleniumDriver seleniumDriver, ControlBase parentControl, ObjectMapping childMapping, HTMLElement[] childElement) {
+        List<ControlBase> chain = new ArrayList<ControlBase>();
+        for (ControlBase ancestor = parentControl; ancestor != null; ancestor = ancestor.getParentControl()) {
+            chain.add(0, ancestor);
+        }
+
+        DomGeneration currentGeneration;
+        try {
+            currentGeneration = seleniumDriver.getDomGeneration();
+        } catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Unable to get DOM generation: %s", e.getMessage()));
+            currentGeneration = null;
+        }
+
+        boolean[] stale = new boolean[chain.size()];
+        List<Integer> suspects = new ArrayList<Integer>();
+        for (int index = 0; index < chain.size(); index++) {
+            HTMLElement rootElement = chain.get(index)._RootElement;
+            DomGeneration boundGeneration = (rootElement == null) ? null : rootElement.getBoundGeneration();
+            if (rootElement == null || !rootElement.isBoundToAWebElement()) stale[index] = true;
+            else if (currentGeneration != null && currentGeneration.equals(boundGeneration)) stale[index] = false;
+            else if (currentGeneration != null && boundGeneration != null && !currentGeneration.isSamePage(boundGeneration)) stale[index] = true;
+            else suspects.add(index);
+        }
+
+        if (!suspects.isEmpty()) {
+            List<Object> webElements = new ArrayList<Object>(suspects.size());
+            for (int index : suspects) {
+                webElements.add(chain.get(index)._RootElement.getUnderlyingWebElement());
+            }
+            try {
+                boolean[] connected = new boolean[suspects.size()];
+                currentGeneration = seleniumDriver.checkConnected(webElements, connected);
+                for (int suspect = 0; suspect < suspects.size(); suspect++) {
+                    int index = suspects.get(suspect);
+                    stale[index] = !connected[suspect];
+                    if (connected[suspect]) chain.get(index)._RootElement.setBoundGeneration(currentGeneration);
+                }
+            } catch (Exception e) {
+                // Selenium itself knows one is stale; so check each in turn
+                for (int index : suspects) {
+                    stale[index] = chain.get(index).isStale();
+                }
+            }
+        }
+
+        int firstStale = 0;
+        while (firstStale < chain.size() && !stale[firstStale]) firstStale++;
+        if (firstStale == chain.size()) return currentGeneration;
+
+        //
+        // Chain find from the first stale control down.  Stops at any control without a mapping (IE. wrapping an element) as it cannot be found.
+        //
+        List<ObjectMapping> chainMappings = new ArrayList<ObjectMapping>();
+        for (int index = firstStale; index < chain.size() && chain.get(index).getMapping() != null; index++) {
+            chainMappings.add(chain.get(index).getMapping());
+        }
+        if (childMapping != null && chainMappings.size() == chain.size() - firstStale) chainMappings.add(childMapping);
+        List<HTMLElement> chainElements = (chainMappings.size() > 1) ? seleniumDriver.findChain((firstStale == 0) ? null : chain.get(firstStale - 1).getRootElement(), chainMappings) : new ArrayList<HTMLElement>();
+        int chainLevels = chainElements.size();
+
+        for (int index = firstStale; index < chain.size(); index++) {
+            int level = index - firstStale;
+            HTMLElement chainElement = (level < chainLevels) ? chainElements.get(level) : null;
+            ControlBase control = chain.get(index);
+            if (!stale[index]) {
+                // Chain found a different element to the one the control has, so the levels below were found from the wrong element
+                if (chainElement != null && !chainElement.getUnderlyingWebElement().equals(control.getRootElement().getUnderlyingWebElement())) chainLevels = level;
+                continue;
+            }
+            if (Log.isEnabled(Logger.LogLevels.TestInformation)) Logger.WriteLine(Logger.LogLevels.TestInformation, "Parent control [%s] is stale. Refreshing", control.getMapping() == null ? "No mapping logic!" : control.getMapping().getFriendlyName());
+            control.setRootElement((HTMLElement) null);
+            setControl(seleniumDriver, control.getParentControl(), control, false, chainElement);
+            if (currentGeneration != null) control.getRootElement().setBoundGeneration(currentGeneration);
+        }
+        if (chain.size() - firstStale < chainLevels) childElement[0] = chainElements.get(chain.size() - firstStale);
+        return currentGeneration;
+    }
+
+    //
+    // Identifies a set control; same driver (instance), control type, parent control's element (or none if top level) and control find logic.
+    // The parent is identified by its WebElement (equal if same element id), not its find logic, as find logic does not always identify a single
+    // element (IE. controls wrapping elements from findElements, or with no mapping at all).
+    //
+    private static final class ControlCacheKey {
+        private final SeleniumDriver seleniumDriver;
+        private final Class<?> controlType;
+        private final Object parentWebElement;
+        private final String findLogic;
+        private final int hashCode;
+
+        private ControlCacheKey(SeleniumDriver seleniumDriver, ControlBase parentControl, ControlBase control) {
+            this.seleniumDriver = seleniumDriver;
+            this.controlType = control.getClass();
+            this.parentWebElement = (parentControl == null) ? null : parentControl.getRootElement().getUnderlyingWebElement();
+            this.findLogic = control.getMapping().getActualFindLogic();
+            this.hashCode = Objects.hash(System.identityHashCode(seleniumDriver), controlType, parentWebElement, findLogic);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof ControlCacheKey)) return false;
+            ControlCacheKey key = (ControlCacheKey) other;
+            return seleniumDriver == key.seleniumDriver && controlType == key.controlType && Objects.equals(parentWebElement, key.parentWebElement) && findLogic.equals(key.findLogic);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     //
     // All Controls must implement a ControlBeingSet.  This is called when the Control is set upon (IE. Find logic applied and bound to a Selenium element).  It really
     // will become useful when caching is implemented.  It is used by a Control to do stuff when located in the Dom - IE. A dropdown control may click on it whenever
@@ -156,22 +408,26 @@ public abstract class ControlBase {
     //
     protected abstract void controlBeingSet(boolean isFirstSetting);
 
+    //
+    // True if control's element is no longer in the page.  A single round trip; which also records the DOM generation the element is current at.
+    // A control that has not been set (no root element, or one not bound to a WebElement) is stale.  Any error other than Selenium knowing the
+    // element is stale (IE. script error or window closed) is thrown rather than taken as stale.
+    //
     public boolean isStale() {
+        if (_RootElement == null || !_RootElement.isBoundToAWebElement()) return true;
         try
         {
-            //
-            // We do a dummy action to force Selenium to report any stagnantation....
-            //
-            getRootElement().isElementEnabled();
-            return false;
+            boolean[] connected = new boolean[1];
+            DomGeneration generation = getSeleniumDriver().checkConnected(Collections.singletonList(getRootElement().getUnderlyingWebElement()), connected);
+            if (connected[0]) getRootElement().setBoundGeneration(generation);
+            return !connected[0];
         }
-        catch (Exception ex)
+        catch (RuntimeException ex)
         {
-            //
-            // TODO: Might need to analyse the error to see if it is actually a Stale element exception.....
-            //
-            Logger.LogException(ex);
-            return true;
+            for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+                if (cause instanceof StaleElementReferenceException) return true;
+            }
+            throw ex;
         }
     }
 
@@ -258,12 +514,24 @@ public abstract class ControlBase {
         }
     }
 
+    //
+    // How text is entered into elements of this control whose mappings do not have their own TextEntryMode.  Null (the default) to use the driver's.
+    //
+    public TextEntryMode setTextEntryMode(TextEntryMode textEntryMode) { _textEntryMode = textEntryMode; return getTextEntryMode(); }
+    public TextEntryMode getTextEntryMode() { return _textEntryMode; }
+
     public void setText(ObjectMapping mapping, String text) {
         HTMLElement element = findElement(mapping);
-        element.setText(text);
+        applyTextEntryMode(element).setText(text);
     }
     public void setText(String text) {
-        getRootElement().setText(text);
+        applyTextEntryMode(getRootElement()).setText(text);
+    }
+
+    private HTMLElement applyTextEntryMode(HTMLElement element) {
+        ObjectMapping mapping = element.getMappingDetails();
+        if (_textEntryMode != null && (mapping == null || mapping.getTextEntryMode() == null)) element.setTextEntryMode(_textEntryMode);
+        return element;
     }
 
 
@@ -274,6 +542,33 @@ public abstract class ControlBase {
         return getRootElement().findElement(mapping);
     }
 
+    //
+    // Finds an element for each mapping from the root of this control in a single round trip (See SeleniumDriver.findElements(HTMLElement, ObjectMapping...))
+    //
+    public Map<ObjectMapping,List<HTMLElement>> findElements(ObjectMapping... mappings) {
+        if (getRootElement()==null) {
+            throw new RuntimeException(String.format("Control [%s] root element is null.  Has the Control been Set (SetControl) yet?",getMapping()==null?"Unknown":getMapping().getFriendlyName()==null?"Unknown":getMapping().getFriendlyName()));
+        }
+        return getRootElement().findElements(mappings);
+    }
+
+    //
+    // Form filler for fields within this control (See FormFiller).
+    //
+    public FormFiller formFiller() {
+        if (getRootElement()==null) {
+            throw new RuntimeException(String.format("Control [%s] root element is null.  Has the Control been Set (SetControl) yet?",getMapping()==null?"Unknown":getMapping().getFriendlyName()==null?"Unknown":getMapping().getFriendlyName()));
+        }
+        return getSeleniumDriver().formFiller(getRootElement());
+    }
+
+    //
+    // Fills every field (mapping to value) within this control in a single find and a single script (See FormFiller).
+    //
+    public void fillForm(Map<ObjectMapping,String> fields) {
+        formFiller().addFields(fields).fill();
+    }
+
     public List<HTMLElement> findAllElements(ObjectMapping mapping) {
         if (getRootElement()==null) {
             throw new RuntimeException(String.format("Control [%s] root element is null.  Has the Control been Set (SetControl) yet?",getMapping()==null?"Unknown":getMapping().getFriendlyName()==null?"Unknown":getMapping().getFriendlyName()));
@@ -281,4 +576,15 @@ public abstract class ControlBase {
         return getRootElement().findAllElements(mapping);
     }
 
+    //
+    // Streams elements matching the mapping from the root of this control, fetching them from the browser as the stream is consumed (See
+    // SeleniumDriver.streamElements)
+    //
+    public Stream<HTMLElement> streamElements(ObjectMapping mapping) {
+        if (getRootElement()==null) {
+            throw new RuntimeException(String.format("Control [%s] root element is null.  Has the Control been Set (SetControl) yet?",getMapping()==null?"Unknown":getMapping().getFriendlyName()==null?"Unknown":getMapping().getFriendlyName()));
+        }
+        return getRootElement().streamElements(mapping);
+    }
+
 }
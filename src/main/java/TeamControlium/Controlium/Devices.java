@@ -59,14 +59,25 @@ public class Devices {
     /// Device hosting browser Selenium script executing against
     /// </summary>
     /// <seealso cref="Devices">Lists all possible Devices that can be returned.</seealso>
-    private static DeviceType _TestDevice;
+    private DeviceType _TestDevice;
 
-    public static DeviceType getDeviceType() {
+    public DeviceType getDeviceType() {
         return _TestDevice;
     }
 
-    public static void SetTestDevice() { SetTestDevice(null);}
-    public static void SetTestDevice(String device) {
+    /// <summary>
+    /// Device from RunSetting "Selenium", "Device" or, if not set, the given device name.  Each SeleniumDriver has its own Devices instance (See
+    /// SeleniumDriver.getDevice).
+    /// </summary>
+    public Devices() {
+        SetTestDevice(null);
+    }
+    public Devices(String device) {
+        SetTestDevice(device);
+    }
+
+    public void SetTestDevice() { SetTestDevice(null);}
+    public void SetTestDevice(String device) {
         String deviceNormalized;
 
         try {
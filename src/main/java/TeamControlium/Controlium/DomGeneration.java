@@ -0,0 +1,41 @@
+package TeamControlium.Controlium;
+
+//
+// Generation of a page's DOM; the page (a new id each time a page is loaded) and how many times elements have been removed from it since (See
+// BrowserScripts.DOM_GENERATION).  An element bound at a generation equal to the current one cannot have gone stale, as nothing has been removed
+// from the page since; so staleness of a whole chain of controls is a comparison rather than a probe of each control's element.
+//
+public final class DomGeneration {
+
+    private final String _pageId;
+    private final long _removalCount;
+
+    DomGeneration(String pageId, long removalCount) {
+        _pageId = pageId;
+        _removalCount = removalCount;
+    }
+
+    public String getPageId() { return _pageId; }
+    public long getRemovalCount() { return _removalCount; }
+
+    public boolean isSamePage(DomGeneration other) {
+        return other != null && _pageId.equals(other._pageId);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof DomGeneration)) return false;
+        return isSamePage((DomGeneration) other) && _removalCount == ((DomGeneration) other)._removalCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return _pageId.hashCode() * 31 + Long.hashCode(_removalCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s:%d", _pageId, _removalCount);
+    }
+}
@@ -1,15 +1,163 @@
 package TeamControlium.Controlium.ElementControls;
 
 import TeamControlium.Controlium.ControlBase;
+import TeamControlium.Controlium.Log;
 import TeamControlium.Controlium.ObjectMapping;
+import TeamControlium.Utilities.Logger;
 import org.openqa.selenium.WebElement;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class Select extends ControlBase {
 
+    //
+    // Arguments: select element, version of options we hold (or -1 if none).  The first time a select is read a MutationObserver is attached that
+    // counts changes to its options in select.__controliumVersion; pending changes are taken (takeRecords) before reading so the count is current.
+    // Selecting options does not change the version.  Returns [version, options, selected indexes] with options null if the version is the one we
+    // hold (so our options are current) otherwise, for each option, [text, value, disabled].  Selected indexes are always returned as selection
+    // changes without the version changing.
+    //
+    private static final String READ_OPTIONS =
+            "var select = arguments[0], heldVersion = arguments[1], options = null, selected = [], index, option;" +
+            "if (select.__controliumVersion === undefined) {" +
+            "  select.__controliumVersion = 0;" +
+            "  select.__controliumObserver = new MutationObserver(function() { select.__controliumVersion++; });" +
+            "  select.__controliumObserver.observe(select, { childList: true, characterData: true, subtree: true, attributes: true, attributeFilter: ['value', 'label', 'disabled'] });" +
+            "}" +
+            "if (select.__controliumObserver.takeRecords().length > 0) select.__controliumVersion++;" +
+            "if (select.__controliumVersion !== heldVersion) {" +
+            "  options = [];" +
+            "  for (index = 0; index < select.options.length; index++) { option = select.options[index]; options.push([option.text, option.value, option.disabled]); }" +
+            "}" +
+            "for (index = 0; index < select.options.length; index++) { if (select.options[index].selected) selected.push(index); }" +
+            "return [select.__controliumVersion, options, selected];";
+
+    //
+    // Arguments: select element, option index.  Returns the option element.
+    //
+    private static final String OPTION_ELEMENT = "return arguments[0].options[arguments[1]];";
+
+    //
+    // Arguments: select element, match by ('text', 'value' or 'index'), items, select (true) or deselect (false).  Selects (or deselects) every option
+    // matching each item; for a single select only the first matching option.  Then, if any option changed, fires input and change events as a user's
+    // selection does.  Returns [matched items, unmatched items, disabled items, changed option count]; items only matching disabled options are
+    // disabled, and left unchanged.
+    //
+    private static final String SELECT_ITEMS =
+            "var select = arguments[0], matchBy = arguments[1], items = arguments[2], selecting = arguments[3];" +
+            "var matched = [], unmatched = [], disabled = [], changed = 0, itemIndex, optionIndex, option, item, found, enabled;" +
+            "for (itemIndex = 0; itemIndex < items.length; itemIndex++) {" +
+            "  item = items[itemIndex]; found = false; enabled = false;" +
+            "  for (optionIndex = 0; optionIndex < select.options.length; optionIndex++) {" +
+            "    option = select.options[optionIndex];" +
+            "    if (matchBy === 'index' ? optionIndex !== Number(item) : (matchBy === 'value' ? option.value !== item : option.text !== item)) continue;" +
+            "    found = true;" +
+            "    if (option.disabled) continue;" +
+            "    enabled = true;" +
+            "    if (option.selected !== selecting) { option.selected = selecting; changed++; }" +
+            "    if (!select.multiple) break;" +
+            "  }" +
+            "  if (enabled) matched.push(String(item)); else if (found) disabled.push(String(item)); else unmatched.push(String(item));" +
+            "}" +
+            "if (changed > 0) {" +
+            "  select.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  select.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "}" +
+            "return [matched, unmatched, disabled, changed];";
+
+    //
+    // Arguments: select element.  Deselects every option then, if any were selected, fires input and change events.  Returns number deselected.
+    //
+    private static final String DESELECT_ALL =
+            "var select = arguments[0], changed = 0, index;" +
+            "for (index = 0; index < select.options.length; index++) { if (select.options[index].selected) { select.options[index].selected = false; changed++; } }" +
+            "if (changed > 0) {" +
+            "  select.dispatchEvent(new Event('input', { bubbles: true }));" +
+            "  select.dispatchEvent(new Event('change', { bubbles: true }));" +
+            "}" +
+            "return changed;";
+
+    //
+    // Outcome of selecting (or deselecting) several items in one go (See selectItems).
+    //
+    public static final class SelectionResult {
+        private final List<String> _matchedItems;
+        private final List<String> _unmatchedItems;
+        private final List<String> _disabledItems;
+        private final int _changedOptionCount;
+
+        private SelectionResult(List<String> matchedItems, List<String> unmatchedItems, List<String> disabledItems, int changedOptionCount) {
+            _matchedItems = Collections.unmodifiableList(matchedItems);
+            _unmatchedItems = Collections.unmodifiableList(unmatchedItems);
+            _disabledItems = Collections.unmodifiableList(disabledItems);
+            _changedOptionCount = changedOptionCount;
+        }
+
+        //
+        // Items matching an option that is now selected (or deselected).  Indexes are given as strings.
+        //
+        public List<String> getMatchedItems() { return _matchedItems; }
+        //
+        // Items not matching any option.
+        //
+        public List<String> getUnmatchedItems() { return _unmatchedItems; }
+        //
+        // Items only matching disabled options; which were left as they were.
+        //
+        public List<String> getDisabledItems() { return _disabledItems; }
+        //
+        // Number of options whose selected state changed.  Zero if all were already as wanted.
+        //
+        public int getChangedOptionCount() { return _changedOptionCount; }
+        public boolean allMatched() { return _unmatchedItems.isEmpty() && _disabledItems.isEmpty(); }
+
+        @Override
+        public String toString() {
+            return String.format("Matched %s, unmatched %s, disabled %s (%d options changed)", _matchedItems.toString(), _unmatchedItems.toString(), _disabledItems.toString(), _changedOptionCount);
+        }
+    }
+
+    //
+    // A single option of the select, as it was when the options were read (See getOptions).
+    //
+    public static final class Option {
+        private final int _index;
+        private final String _text;
+        private final String _value;
+        private final boolean _disabled;
+        private final boolean _selected;
+
+        private Option(int index, String text, String value, boolean disabled, boolean selected) {
+            _index = index;
+            _text = text;
+            _value = value;
+            _disabled = disabled;
+            _selected = selected;
+        }
+
+        public int getIndex() { return _index; }
+        public String getText() { return _text; }
+        public String getValue() { return _value; }
+        public boolean isDisabled() { return _disabled; }
+        public boolean isSelected() { return _selected; }
+
+        private Option withSelected(boolean selected) {
+            return (selected == _selected) ? this : new Option(_index, _text, _value, _disabled, selected);
+        }
+
+        @Override
+        public String toString() { return String.format("[%d] %s (%s)%s", _index, _text, _value, _selected ? " selected" : ""); }
+    }
+
     private boolean delectAllOnSetting=false;
+    private org.openqa.selenium.support.ui.Select _seleniumSelect;
+    private List<Option> _options = Collections.emptyList();
+    private long _optionsVersion = -1;
+
     public Select(ObjectMapping mapping) {
         setMapping(mapping);
     }
@@ -18,54 +166,182 @@ public class Select extends ControlBase {
         delectAllOnSetting=startAllDeselected;
     }
     protected void controlBeingSet(boolean isFirstSetting) {
+        // May be bound to a different select element now
+        _seleniumSelect = null;
+        _options = Collections.emptyList();
+        _optionsVersion = -1;
         if (delectAllOnSetting) {
-            new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).deselectAll();
+            deselectAll();
+        }
+    }
+
+    //
+    // All options, with their current selected state.  Option texts and values are only read from the browser when they have changed since last
+    // read; otherwise this costs a single call returning just the selected indexes.
+    //
+    public List<Option> getOptions() {
+        List<?> read = getSeleniumDriver().executeJavaScript(List.class, READ_OPTIONS, getRootElement().getUnderlyingWebElement(), _optionsVersion);
+        long version = ((Number) read.get(0)).longValue();
+        List<?> options = (List<?>) read.get(1);
+        List<?> selectedIndexes = (List<?>) read.get(2);
+
+        boolean[] selected = new boolean[(options == null) ? _options.size() : options.size()];
+        for (Object selectedIndex : selectedIndexes) {
+            int index = ((Number) selectedIndex).intValue();
+            if (index < selected.length) selected[index] = true;
         }
+
+        List<Option> current = new ArrayList<Option>(selected.length);
+        if (options == null) {
+            for (Option option : _options) {
+                current.add(option.withSelected(selected[option.getIndex()]));
+            }
+        } else {
+            for (int index = 0; index < options.size(); index++) {
+                List<?> option = (List<?>) options.get(index);
+                current.add(new Option(index, (String) option.get(0), (String) option.get(1), (Boolean) option.get(2), selected[index]));
+            }
+            final int optionCount = options.size();
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Read [%d] options of Select element [%s] (version %d)", optionCount, getMapping().getFriendlyName(), version));
+        }
+        _options = Collections.unmodifiableList(current);
+        _optionsVersion = version;
+        return _options;
     }
 
     public void selectItemByText(String text) {
-        new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).selectByVisibleText(text);
+        selectOptions(getOptions().stream().filter(option -> option.getText().equals(text)).collect(Collectors.toList()), "text", text);
     }
 
     public void selectItemByValueAttribute(String text) {
-        new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).selectByValue(text);
+        selectOptions(getOptions().stream().filter(option -> option.getValue().equals(text)).collect(Collectors.toList()), "value", text);
     }
 
     public void selectItemByIndex(int index) {
-        org.openqa.selenium.support.ui.Select selectElement = new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement());
-        List<WebElement> allOptions = selectElement.getOptions();
-        if (allOptions.size()<index+1) {
-            throw new RuntimeException(String.format("Select element [%s] only has [%d] options but we wanted to select option [%d] (Zero based)",getMapping().getFriendlyName(),allOptions.size()));
+        List<Option> allOptions = getOptions();
+        if (index < 0 || allOptions.size()<index+1) {
+            throw new RuntimeException(String.format("Select element [%s] only has [%d] options but we wanted to select option [%d] (Zero based)",getMapping().getFriendlyName(),allOptions.size(),index));
         }
-        selectElement.selectByIndex(index);
+        selectOption(allOptions.get(index));
+    }
+
+
+    //
+    // Selects every option with the given texts (or values, or indexes) in a single call, firing the input and change events a user's selection
+    // would.  Options already selected stay selected.  Items not matching an option (or only disabled options) are reported in the result rather
+    // than thrown; check SelectionResult.allMatched if they should all be there.
+    //
+    public SelectionResult selectItems(Collection<String> texts) {
+        return applySelection("text", texts, true);
+    }
+
+    public SelectionResult selectItemsByValue(Collection<String> values) {
+        return applySelection("value", values, true);
+    }
+
+    public SelectionResult selectItemsByIndex(Collection<Integer> indexes) {
+        return applySelection("index", indexes, true);
+    }
+
+    //
+    // Deselects every option with the given texts in a single call (See selectItems).
+    //
+    public SelectionResult deselectItems(Collection<String> texts) {
+        return applySelection("text", texts, false);
     }
 
+    //
+    // Deselects all options in a single call.
+    //
+    public void deselectAll() {
+        if (!getSeleniumSelect().isMultiple()) {
+            throw new RuntimeException(String.format("Select element [%s] is not a multi-select.  Only multi-select options can be deselected",getMapping().getFriendlyName()));
+        }
+        Object deselected = getSeleniumDriver().executeJavaScript(Object.class, DESELECT_ALL, getRootElement().getUnderlyingWebElement());
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Deselected [%s] options of Select element [%s]", deselected, getMapping().getFriendlyName()));
+    }
 
     public String getSelectedItemText() {
-        List<WebElement> elements = new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).getAllSelectedOptions();
-        if (elements.size()==0) {
-            throw new RuntimeException(String.format("Select element [%] has no selected items",getMapping().getFriendlyName()));
+        List<Option> selected = getSelectedOptions();
+        if (selected.size()==0) {
+            throw new RuntimeException(String.format("Select element [%s] has no selected items",getMapping().getFriendlyName()));
         }
-        if (elements.size()>1) {
-            throw new RuntimeException(String.format("Select element [%] has [%d] selected items.  Expected 1",elements.size(),getMapping().getFriendlyName()));
+        if (selected.size()>1) {
+            throw new RuntimeException(String.format("Select element [%s] has [%d] selected items.  Expected 1",getMapping().getFriendlyName(),selected.size()));
         }
-        return elements.get(0).getText();
+        return selected.get(0).getText();
     }
 
     public int getSelectedItemTextsCount() {
-        List<WebElement> elements = new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).getAllSelectedOptions();
-        if (elements.size()==0) {
-            throw new RuntimeException(String.format("Select element [%] has no selected items",getMapping().getFriendlyName()));
+        List<Option> selected = getSelectedOptions();
+        if (selected.size()==0) {
+            throw new RuntimeException(String.format("Select element [%s] has no selected items",getMapping().getFriendlyName()));
         }
-        return elements.size();
+        return selected.size();
     }
 
     public List<String> getAllSelectedItemTexts() {
-        List<WebElement> elements = new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement()).getAllSelectedOptions();
-        if (elements.size()==0) {
-            throw new RuntimeException(String.format("Select element [%] has no selected items",getMapping().getFriendlyName()));
+        List<Option> selected = getSelectedOptions();
+        if (selected.size()==0) {
+            throw new RuntimeException(String.format("Select element [%s] has no selected items",getMapping().getFriendlyName()));
+        }
+        return selected.stream().map(Option::getText).collect(Collectors.toList());
+    }
+
+    public List<Option> getSelectedOptions() {
+        return getOptions().stream().filter(Option::isSelected).collect(Collectors.toList());
+    }
+
+    //
+    // Selenium Select for the select element; only created once per setting of the control.
+    //
+    protected org.openqa.selenium.support.ui.Select getSeleniumSelect() {
+        if (_seleniumSelect == null) {
+            _seleniumSelect = new org.openqa.selenium.support.ui.Select((WebElement)getRootElement().getUnderlyingWebElement());
+        }
+        return _seleniumSelect;
+    }
+
+    //
+    // As Selenium's Select; a multi-select has every matching option selected, any other select only the first.
+    //
+    private void selectOptions(List<Option> matchingOptions, String matchedOn, String matchValue) {
+        if (matchingOptions.isEmpty()) {
+            throw new RuntimeException(String.format("Select element [%s] has no option with %s [%s]",getMapping().getFriendlyName(),matchedOn,matchValue));
+        }
+        for (Option option : matchingOptions) {
+            selectOption(option);
+            if (!getSeleniumSelect().isMultiple()) break;
+        }
+    }
+
+    private SelectionResult applySelection(String matchBy, Collection<?> items, boolean selecting) {
+        if (items == null) {
+            throw new RuntimeException(String.format("Items to %s in Select element [%s] is null!", selecting ? "select" : "deselect", getMapping().getFriendlyName()));
+        }
+        if (!getSeleniumSelect().isMultiple() && (items.size() > 1 || !selecting)) {
+            throw new RuntimeException(String.format("Select element [%s] is not a multi-select.  Cannot %s [%d] items", getMapping().getFriendlyName(), selecting ? "select" : "deselect", items.size()));
+        }
+        List<?> applied = getSeleniumDriver().executeJavaScript(List.class, SELECT_ITEMS, getRootElement().getUnderlyingWebElement(), matchBy, new ArrayList<Object>(items), selecting);
+        SelectionResult result = new SelectionResult(toStrings((List<?>) applied.get(0)), toStrings((List<?>) applied.get(1)), toStrings((List<?>) applied.get(2)), ((Number) applied.get(3)).intValue());
+        if (Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "%s [%d] items by %s in Select element [%s]: %s", selecting ? "Selected" : "Deselected", items.size(), matchBy, getMapping().getFriendlyName(), result.toString());
+        return result;
+    }
+
+    private static List<String> toStrings(List<?> values) {
+        List<String> strings = new ArrayList<String>(values.size());
+        for (Object value : values) {
+            strings.add(String.valueOf(value));
+        }
+        return strings;
+    }
+
+    //
+    // Clicks the option, as a user would (and Selenium's Select does), if not already selected.
+    //
+    private void selectOption(Option option) {
+        if (!option.isSelected()) {
+            ((WebElement) getSeleniumDriver().executeJavaScript(Object.class, OPTION_ELEMENT, getRootElement().getUnderlyingWebElement(), option.getIndex())).click();
         }
-        List<String> texts = elements.stream().map(element -> element.getText()).collect(Collectors.toList());
-        return texts;
     }
 }
@@ -2,12 +2,58 @@ package TeamControlium.Controlium.ElementControls;
 
 import TeamControlium.Controlium.ControlBase;
 import TeamControlium.Controlium.HTMLElement;
+import TeamControlium.Controlium.Log;
 import TeamControlium.Controlium.ObjectMapping;
+import TeamControlium.Utilities.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Table extends ControlBase {
 
+    //
+    // Declares table; the table element (first argument).  The first time a table is read a MutationObserver is attached that counts changes to its
+    // rows, cells and text in table.__controliumVersion, so we can tell if the table has changed since we read it (See TABLE_VERSION).
+    //
+    private static final String TABLE_OBSERVER =
+            "var table = arguments[0];" +
+            "if (table.__controliumVersion === undefined) {" +
+            "  table.__controliumVersion = 0;" +
+            "  new MutationObserver(function() { table.__controliumVersion++; }).observe(table, { childList: true, characterData: true, subtree: true, attributes: true, attributeFilter: ['rowspan', 'colspan'] });" +
+            "}";
+
+    //
+    // Arguments: table element, include elements.  Returns [table version, rows] with rows holding, for each of the table's rows (table.rows; so not
+    // rows of nested tables), [is header row, cells] and each cell being [text, rowspan, colspan, is th, element (or null if not including elements)].
+    // A row is a header row if it is in the thead or all its cells are th.
+    //
+    private static final String READ_TABLE = TABLE_OBSERVER +
+            "var includeElements = arguments[1], rows = [], rowIndex, cellIndex, row, cells, cell, allHeader, rowSpan;" +
+            "for (rowIndex = 0; rowIndex < table.rows.length; rowIndex++) {" +
+            "  row = table.rows[rowIndex]; cells = []; allHeader = row.cells.length > 0;" +
+            "  for (cellIndex = 0; cellIndex < row.cells.length; cellIndex++) {" +
+            "    cell = row.cells[cellIndex];" +
+            "    rowSpan = (cell.rowSpan === 0) ? table.rows.length - rowIndex : cell.rowSpan;" +
+            "    allHeader = allHeader && cell.tagName === 'TH';" +
+            "    cells.push([(cell.innerText === undefined ? cell.textContent : cell.innerText).trim(), rowSpan || 1, cell.colSpan || 1, cell.tagName === 'TH', includeElements ? cell : null]);" +
+            "  }" +
+            "  rows.push([(row.parentNode.tagName === 'THEAD') || allHeader, cells]);" +
+            "}" +
+            "return [table.__controliumVersion, rows];";
+
+    //
+    // Arguments: table element.  Returns table's current version (See TABLE_OBSERVER).
+    //
+    private static final String TABLE_VERSION = TABLE_OBSERVER + "return table.__controliumVersion;";
+
+    private TableSnapshot _snapshot;
+    private long _snapshotVersion;
+
     public Table(ObjectMapping mapping) {
         setMapping(mapping);
     }
@@ -28,6 +74,110 @@ public class Table extends ControlBase {
     }
 
     protected void controlBeingSet(boolean isFirstSetting) {
+        // May be bound to a different table element now
+        _snapshot = null;
+    }
+
+    //
+    // Snapshot of the whole table (See TableSnapshot), read in a single call and kept until refresh is called (or the control is set again).  Cell
+    // elements are not included, as most reads only need the text.
+    //
+    public TableSnapshot snapshot() {
+        return snapshot(false);
+    }
+
+    public TableSnapshot snapshot(boolean includeElements) {
+        TableSnapshot snapshot = _snapshot;
+        if (snapshot == null || (includeElements && !snapshot.includesElements())) {
+            snapshot = readTable(includeElements);
+        }
+        return snapshot;
+    }
+
+    //
+    // Re-reads the table (including cell elements if the last snapshot did).
+    //
+    public TableSnapshot refresh() {
+        return readTable(_snapshot != null && _snapshot.includesElements());
+    }
+
+    //
+    // True if table has changed (rows added or removed, cell text changed etc.) since it was last read.
+    //
+    public boolean hasChanged() {
+        if (_snapshot == null) return true;
+        try {
+            return ((Number) getSeleniumDriver().executeJavaScript(Object.class, TABLE_VERSION, getRootElement().getUnderlyingWebElement())).longValue() != _snapshotVersion;
+        } catch (Exception e) {
+            // Table element gone (or page changed) so last snapshot is no longer the table
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Unable to get version of table [%s] so assuming changed: %s", getMapping().getFriendlyName(), e.getMessage()));
+            return true;
+        }
+    }
+
+    //
+    // Data rows whose text in the column with the given header equals value (See TableSnapshot.findRows).  Lookups use a hash index built from
+    // a single read of the table and kept until the table changes; so, while the table is unchanged, each lookup costs one call (to check the table's
+    // version) regardless of the table's size.
+    //
+    public List<TableSnapshot.Row> findRows(String columnHeader, String value) {
+        return currentSnapshot().findRows(columnHeader, value);
+    }
+
+    //
+    // Data rows keyed by their text in the column with the given header (See TableSnapshot.indexBy).  Index is of the table as it is now; it does not
+    // change if the table does.
+    //
+    public Map<String, List<TableSnapshot.Row>> indexBy(String columnHeader) {
+        return currentSnapshot().indexBy(columnHeader);
+    }
+
+    //
+    // Streams the table's data rows, fetched from the browser a page at a time (See TableRowCursor); for tables too big to snapshot or that are
+    // virtualized (only rendering the rows in view).  Virtualized tables are scrolled as needed and must give their rows aria-rowindex (or
+    // data-row-index).  Rows are fetched lazily, so a stream stopped early (IE. findFirst) fetches and scrolls no further.
+    //
+    public Stream<TableRow> streamRows() {
+        return streamRows(getSeleniumDriver().getStreamChunkSize());
+    }
+
+    public Stream<TableRow> streamRows(int pageSize) {
+        TableRowCursor cursor = new TableRowCursor(getSeleniumDriver(), getRootElement().getUnderlyingWebElement(), getMapping().getFriendlyName(), pageSize, getSeleniumDriver().getElementFindTimeout());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    //
+    // Last snapshot, or a new one if the table has changed since it was taken.
+    //
+    private TableSnapshot currentSnapshot() {
+        return hasChanged() ? refresh() : _snapshot;
+    }
+
+    private TableSnapshot readTable(boolean includeElements) {
+        List<?> read = getSeleniumDriver().executeJavaScript(List.class, READ_TABLE, getRootElement().getUnderlyingWebElement(), includeElements);
+        long version = ((Number) read.get(0)).longValue();
+        List<?> rows = (List<?>) read.get(1);
+        List<List<TableSnapshot.CellData>> rowCells = new ArrayList<List<TableSnapshot.CellData>>(rows.size());
+        List<Boolean> headerRows = new ArrayList<Boolean>(rows.size());
+        for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
+            List<?> row = (List<?>) rows.get(rowIndex);
+            List<?> cells = (List<?>) row.get(1);
+            List<TableSnapshot.CellData> cellData = new ArrayList<TableSnapshot.CellData>(cells.size());
+            for (int cellIndex = 0; cellIndex < cells.size(); cellIndex++) {
+                List<?> cell = (List<?>) cells.get(cellIndex);
+                HTMLElement element = null;
+                if (cell.get(4) != null) {
+                    ObjectMapping mapping = new ObjectMapping(String.format("(./tr|./*/tr)[%d]/*[self::td or self::th][%d]", rowIndex + 1, cellIndex + 1), String.format("Table [%s] row [%d] cell [%d] (Zero based)", getMapping().getFriendlyName(), rowIndex, cellIndex));
+                    element = new HTMLElement(getRootElement(), cell.get(4), mapping);
+                }
+                cellData.add(new TableSnapshot.CellData((String) cell.get(0), rowIndex, cellIndex, ((Number) cell.get(1)).intValue(), ((Number) cell.get(2)).intValue(), (Boolean) cell.get(3), element));
+            }
+            rowCells.add(cellData);
+            headerRows.add((Boolean) row.get(0));
+        }
+        _snapshot = new TableSnapshot(rowCells, headerRows, includeElements);
+        _snapshotVersion = version;
+        return _snapshot;
     }
 
     public Cell getCell(int row, int column) {
@@ -0,0 +1,47 @@
+package TeamControlium.Controlium.ElementControls;
+
+import java.util.Collections;
+import java.util.List;
+
+//
+// A single data row of a table, as streamed (See Table.streamRows).  Holds only the row's cell texts (a cell spanning several columns repeated for
+// each) and the table's column headers; no elements, so rows are cheap to hold and do not go stale.
+//
+public final class TableRow {
+
+    private final long _index;
+    private final List<String> _texts;
+    private final List<String> _headers;
+
+    TableRow(long index, List<String> texts, List<String> headers) {
+        _index = index;
+        _texts = Collections.unmodifiableList(texts);
+        _headers = headers;
+    }
+
+    //
+    // Row's index in the table.  The row's aria-rowindex (or data-row-index) if it has one - so the index in the full data set of a virtualized
+    // table - otherwise its zero based position among the table's data rows.
+    //
+    public long getIndex() { return _index; }
+    public List<String> getTexts() { return _texts; }
+    public List<String> getHeaders() { return _headers; }
+
+    public String getText(int column) {
+        if (column < 0 || column >= _texts.size()) {
+            throw new RuntimeException(String.format("Row [%d] has [%d] columns but column index is [%d] (Zero based)", _index, _texts.size(), column));
+        }
+        return _texts.get(column);
+    }
+
+    public String getText(String header) {
+        int column = _headers.indexOf((header == null) ? null : header.trim());
+        if (column < 0) {
+            throw new RuntimeException(String.format("Table has no column with header [%s].  Headers are %s", header, _headers.toString()));
+        }
+        return getText(column);
+    }
+
+    @Override
+    public String toString() { return String.format("[%d] %s", _index, _texts.toString()); }
+}
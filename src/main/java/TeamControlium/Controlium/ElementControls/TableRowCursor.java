@@ -0,0 +1,177 @@
+package TeamControlium.Controlium.ElementControls;
+
+import TeamControlium.Controlium.Log;
+import TeamControlium.Controlium.SeleniumDriver;
+import TeamControlium.Utilities.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+//
+// Iterates over a table's data rows, fetching them from the browser a page at a time (See Table.streamRows).  Only the current page is held, so
+// any number of rows can be streamed in bounded memory, and nothing more is fetched (or scrolled) once the caller stops iterating.
+//
+// Each fetch returns the rows after the last one returned.  Rows are identified by aria-rowindex (or data-row-index) where they have one, which
+// is what lets virtualized tables (that only render the rows in view and recycle them as they scroll) be streamed; if rendered rows run out the
+// table's scroll container is scrolled on and newly rendered rows gathered, until the page is full or the container can scroll no further.
+// Tables whose rows have no index are plain tables; all rows are already in the DOM so they are paged by position and never scrolled.
+//
+final class TableRowCursor implements Iterator<TableRow> {
+
+    //
+    // Async script.  Arguments: table (or ARIA grid) element, index of last row returned (or null to start), page size, settle time (mS), timeout (mS),
+    // resume point (or null).  Returns [column headers, rows, no more rows, resume point] with each row [index, cell texts].  After a scroll, waits up
+    // to the settle time for new rows to render before scrolling on or, if it cannot scroll further, deciding there are no more rows.  At the timeout
+    // whatever has been gathered is returned.
+    //
+    // The resume point is [position in the table's rows, data row position] just after the last row returned, if rows were in order.  If the row
+    // before it is still the last row returned the next fetch starts from there; so walking a table costs each row once, not every remaining row
+    // on every fetch.  Plain tables stop gathering as soon as the page is full.  Otherwise (IE. rows re-rendered) all rows are gathered and sorted.
+    //
+    private static final String FETCH_ROWS =
+            "var root = arguments[0], afterIndex = arguments[1], pageSize = arguments[2], settleMillis = arguments[3], timeoutMillis = arguments[4], resume = arguments[5];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var isTable = root.tagName === 'TABLE', headers = null, page = [], indexed = false, lastIndex = afterIndex, started = Date.now(), waitingSince = 0;" +
+            "var schedule = (document.hidden || !window.requestAnimationFrame) ? function(next) { setTimeout(next, 16); } : function(next) { window.requestAnimationFrame(next); };" +
+            "var cellsOf = function(row) {" +
+            "  if (row.cells) return Array.prototype.slice.call(row.cells);" +
+            "  return Array.prototype.filter.call(row.children, function(cell) { var role = cell.getAttribute('role'); return role === 'gridcell' || role === 'cell' || role === 'rowheader' || role === 'columnheader'; });" +
+            "};" +
+            "var isHeader = function(row, cells) {" +
+            "  if (row.parentNode && row.parentNode.tagName === 'THEAD') return true;" +
+            "  return cells.length > 0 && cells.every(function(cell) { return cell.tagName === 'TH' || cell.getAttribute('role') === 'columnheader'; });" +
+            "};" +
+            "var textsOf = function(cells) {" +
+            "  var texts = [];" +
+            "  cells.forEach(function(cell) { var text = (cell.innerText === undefined ? cell.textContent : cell.innerText).trim(), span; for (span = 0; span < (cell.colSpan || 1); span++) texts.push(text); });" +
+            "  return texts;" +
+            "};" +
+            "var scroller = (function() {" +
+            "  var element = root.parentElement, overflow;" +
+            "  while (element && element !== document.body && element !== document.documentElement) {" +
+            "    overflow = window.getComputedStyle(element).overflowY;" +
+            "    if ((overflow === 'auto' || overflow === 'scroll') && element.scrollHeight > element.clientHeight) return element;" +
+            "    element = element.parentElement;" +
+            "  }" +
+            "  return document.scrollingElement || document.documentElement;" +
+            "})();" +
+            "var keyOf = function(row, position) {" +
+            "  var key = row.getAttribute('aria-rowindex') || row.getAttribute('data-row-index');" +
+            "  if (key !== null && key !== '') { indexed = true; return Number(key); }" +
+            "  return position;" +
+            "};" +
+            "var gather = function() {" +
+            "  var rows = isTable ? root.rows : root.querySelectorAll('[role=row]'), index = 0, position = 0, found = [], added = 0, inOrder = true, row, cells, key;" +
+            "  if (resume && lastIndex !== null && resume[0] > 0 && resume[0] <= rows.length && keyOf(rows[resume[0] - 1], resume[1] - 1) === lastIndex) { index = resume[0]; position = resume[1]; }" +
+            "  for (; index < rows.length; index++) {" +
+            "    row = rows[index]; cells = cellsOf(row);" +
+            "    if (isHeader(row, cells)) { headers = textsOf(cells); continue; }" +
+            "    key = keyOf(row, position);" +
+            "    position++;" +
+            "    if (lastIndex === null || key > lastIndex) {" +
+            "      if (found.length > 0 && key < found[found.length - 1][0]) inOrder = false;" +
+            "      found.push([key, cells, index + 1, position]);" +
+            "      if (!indexed && found.length >= pageSize - page.length) break;" +
+            "    }" +
+            "  }" +
+            "  if (!inOrder) { found.sort(function(first, second) { return first[0] - second[0]; }); resume = null; }" +
+            "  for (index = 0; index < found.length && page.length < pageSize; index++) {" +
+            "    page.push([found[index][0], textsOf(found[index][1])]); lastIndex = found[index][0]; added++;" +
+            "    if (inOrder) resume = [found[index][2], found[index][3]];" +
+            "  }" +
+            "  return added;" +
+            "};" +
+            "var step = function() {" +
+            "  var added = gather(), before;" +
+            "  if (page.length >= pageSize) { done([headers, page, false, resume]); return; }" +
+            "  if (!indexed) { done([headers, page, true, resume]); return; }" +
+            "  if (Date.now() - started >= timeoutMillis) { done([headers, page, false, resume]); return; }" +
+            "  if (added === 0 && Date.now() - waitingSince < settleMillis) { schedule(step); return; }" +
+            "  before = scroller.scrollTop;" +
+            "  scroller.scrollTop = before + Math.max(1, Math.floor(scroller.clientHeight * 0.8));" +
+            "  if (scroller.scrollTop === before && added === 0) { done([headers, page, true, resume]); return; }" +
+            "  waitingSince = Date.now();" +
+            "  schedule(step);" +
+            "};" +
+            "step();";
+
+    private static final long settleMillis = 500; // Time to wait, after scrolling, for a virtualized table to render new rows
+    private static final long scriptTimeoutMarginMillis = 5000; // Async script timeout allowance over and above the time we will wait in the browser
+
+    private final SeleniumDriver _seleniumDriver;
+    private final Object _tableElement;
+    private final String _friendlyName;
+    private final int _pageSize;
+    private final long _timeoutMillis;
+    private List<String> _headers = Collections.emptyList();
+    private List<TableRow> _page = Collections.emptyList();
+    private int _pageIndex;
+    private Long _lastIndex;
+    private List<?> _resume;   // Where the next fetch may start in the table's rows (See FETCH_ROWS)
+    private boolean _noMoreRows;
+    private long _rowsReturned;
+
+    TableRowCursor(SeleniumDriver seleniumDriver, Object tableElement, String friendlyName, int pageSize, Duration timeout) {
+        if (pageSize < 1) {
+            throw new RuntimeException(String.format("Table row page size [%d] must be 1 or more", pageSize));
+        }
+        _seleniumDriver = seleniumDriver;
+        _tableElement = tableElement;
+        _friendlyName = friendlyName;
+        _pageSize = pageSize;
+        _timeoutMillis = (timeout == null) ? 60000 : timeout.toMillis();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (_pageIndex < _page.size()) return true;
+        if (_noMoreRows) return false;
+        fetchNextPage();
+        return _pageIndex < _page.size();
+    }
+
+    @Override
+    public TableRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(String.format("All [%d] rows of table [%s] have been returned", _rowsReturned, _friendlyName));
+        }
+        _rowsReturned++;
+        return _page.get(_pageIndex++);
+    }
+
+    private void fetchNextPage() {
+        List<?> fetched = _seleniumDriver.executeAsyncJavaScript(List.class, FETCH_ROWS, Duration.ofMillis(_timeoutMillis + scriptTimeoutMarginMillis),
+                _tableElement, _lastIndex, _pageSize, settleMillis, _timeoutMillis, _resume);
+        if (fetched.get(0) != null) {
+            _headers = Collections.unmodifiableList(toStrings((List<?>) fetched.get(0)));
+        }
+        List<?> rows = (List<?>) fetched.get(1);
+        _noMoreRows = (Boolean) fetched.get(2);
+        _resume = (List<?>) fetched.get(3);
+        if (rows.isEmpty() && !_noMoreRows) {
+            throw new RuntimeException(String.format("No rows of table [%s] after row [%s] rendered within [%d]mS (%d rows returned)", _friendlyName, (_lastIndex == null) ? "None" : _lastIndex.toString(), _timeoutMillis, _rowsReturned));
+        }
+        List<TableRow> page = new ArrayList<TableRow>(rows.size());
+        for (Object row : rows) {
+            List<?> rowData = (List<?>) row;
+            long index = ((Number) rowData.get(0)).longValue();
+            page.add(new TableRow(index, toStrings((List<?>) rowData.get(1)), _headers));
+            _lastIndex = index;
+        }
+        _page = page;
+        _pageIndex = 0;
+        if (Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Fetched [%d] rows of table [%s] (%d returned so far%s)", page.size(), _friendlyName, _rowsReturned, _noMoreRows ? ", no more rows" : "");
+    }
+
+    private static List<String> toStrings(List<?> values) {
+        List<String> strings = new ArrayList<String>(values.size());
+        for (Object value : values) {
+            strings.add((value == null) ? null : value.toString());
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,269 @@
+package TeamControlium.Controlium.ElementControls;
+
+import TeamControlium.Controlium.HTMLElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//
+// In-memory copy of a table (See Table.snapshot), read from the browser in a single call.  Rows and columns are those of the table's grid; a cell
+// spanning several rows or columns appears at every grid position it covers.  So getCell(row, column) is the cell a user sees at that position,
+// whatever spans come before it.  All access is in memory; the snapshot does not change if the table does (See Table.refresh).
+//
+// Rows are all the table's rows (thead, tbody and tfoot) in the order the browser renders them.  Leading rows in the thead (or made up only of th
+// cells) are header rows; the last of them gives the column headers.
+//
+public final class TableSnapshot {
+
+    //
+    // A single table cell.  Its row and column indexes are where it starts (top left) in the grid.
+    //
+    public static final class CellData {
+        private final String _text;
+        private final int _rowIndex;
+        private final int _columnIndex;
+        private final int _rowSpan;
+        private final int _colSpan;
+        private final boolean _header;
+        private final HTMLElement _element;
+
+        CellData(String text, int rowIndex, int columnIndex, int rowSpan, int colSpan, boolean header, HTMLElement element) {
+            _text = text;
+            _rowIndex = rowIndex;
+            _columnIndex = columnIndex;
+            _rowSpan = rowSpan;
+            _colSpan = colSpan;
+            _header = header;
+            _element = element;
+        }
+
+        public String getText() { return _text; }
+        public int getRowIndex() { return _rowIndex; }
+        public int getColumnIndex() { return _columnIndex; }
+        public int getRowSpan() { return _rowSpan; }
+        public int getColSpan() { return _colSpan; }
+        public boolean isHeader() { return _header; }
+        public boolean hasElement() { return _element != null; }
+
+        //
+        // Cell's element.  Only available if the snapshot was taken including elements.
+        //
+        public HTMLElement getElement() {
+            if (_element == null) {
+                throw new RuntimeException(String.format("Cell [%d,%d] has no element.  Take snapshot including elements (Table.snapshot(true))", _rowIndex, _columnIndex));
+            }
+            return _element;
+        }
+
+        @Override
+        public String toString() { return _text; }
+    }
+
+    //
+    // A single row of the grid.  Holds a cell (maybe spanning from an earlier row or column) for every grid column; null where the row has no
+    // cell at a column (a short row).
+    //
+    public final class Row {
+        private final int _index;
+        private final List<CellData> _cells;
+
+        private Row(int index, List<CellData> cells) {
+            _index = index;
+            _cells = Collections.unmodifiableList(cells);
+        }
+
+        public int getIndex() { return _index; }
+        public boolean isHeader() { return _index < _headerRowCount; }
+        public List<CellData> getCells() { return _cells; }
+        public CellData getCell(int column) {
+            if (column < 0 || column >= _cells.size()) {
+                throw new RuntimeException(String.format("Table has [%d] columns but column index is [%d] (Zero based)", _cells.size(), column));
+            }
+            return _cells.get(column);
+        }
+        public CellData getCell(String header) { return getCell(getColumnIndexOrThrow(header)); }
+        public String getText(int column) {
+            CellData cell = getCell(column);
+            return (cell == null) ? null : cell.getText();
+        }
+        public String getText(String header) { return getText(getColumnIndexOrThrow(header)); }
+
+        public List<String> getTexts() {
+            List<String> texts = new ArrayList<String>(_cells.size());
+            for (CellData cell : _cells) {
+                texts.add((cell == null) ? null : cell.getText());
+            }
+            return texts;
+        }
+    }
+
+    private final List<Row> _rows;
+    private final int _columnCount;
+    private final int _headerRowCount;
+    private final List<String> _headers;
+    private final boolean _includesElements;
+    private final Map<Integer, Map<String, List<Row>>> _columnIndexes = new ConcurrentHashMap<Integer, Map<String, List<Row>>>();
+
+    //
+    // rowCells holds, for each row, the row's cells in source order with their spans.  Spans are laid out here into the grid, as the browser does.
+    //
+    TableSnapshot(List<List<CellData>> rowCells, List<Boolean> headerRows, boolean includesElements) {
+        int rowCount = rowCells.size();
+        List<CellData[]> grid = new ArrayList<CellData[]>(rowCount);
+        int columnCount = 0;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            int column = 0;
+            for (CellData sourceCell : rowCells.get(rowIndex)) {
+                while (cellAt(grid, rowIndex, column) != null) column++;
+                int lastRow = Math.min(rowCount, rowIndex + sourceCell.getRowSpan());
+                CellData cell = new CellData(sourceCell.getText(), rowIndex, column, lastRow - rowIndex, sourceCell.getColSpan(), sourceCell.isHeader(), sourceCell._element);
+                for (int spannedRow = rowIndex; spannedRow < lastRow; spannedRow++) {
+                    for (int spannedColumn = column; spannedColumn < column + cell.getColSpan(); spannedColumn++) {
+                        setCellAt(grid, spannedRow, spannedColumn, cell);
+                    }
+                }
+                column += cell.getColSpan();
+                columnCount = Math.max(columnCount, column);
+            }
+        }
+
+        int headerRowCount = 0;
+        while (headerRowCount < rowCount && headerRows.get(headerRowCount)) headerRowCount++;
+
+        List<Row> rows = new ArrayList<Row>(rowCount);
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            List<CellData> cells = new ArrayList<CellData>(columnCount);
+            for (int column = 0; column < columnCount; column++) {
+                cells.add(cellAt(grid, rowIndex, column));
+            }
+            rows.add(new Row(rowIndex, cells));
+        }
+
+        List<String> headers = new ArrayList<String>();
+        if (headerRowCount > 0) {
+            headers.addAll(rows.get(headerRowCount - 1).getTexts());
+        }
+
+        _rows = Collections.unmodifiableList(rows);
+        _columnCount = columnCount;
+        _headerRowCount = headerRowCount;
+        _headers = Collections.unmodifiableList(headers);
+        _includesElements = includesElements;
+    }
+
+    public int getRowCount() { return _rows.size(); }
+    public int getColumnCount() { return _columnCount; }
+    public int getHeaderRowCount() { return _headerRowCount; }
+    public boolean includesElements() { return _includesElements; }
+
+    //
+    // Column headers; text of the last header row, per grid column.  Empty if table has no header rows.
+    //
+    public List<String> getHeaders() { return _headers; }
+
+    //
+    // Grid column with the given header text (trimmed, case sensitive), or -1 if no column has it.
+    //
+    public int getColumnIndex(String header) {
+        String wanted = (header == null) ? null : header.trim();
+        for (int column = 0; column < _headers.size(); column++) {
+            String columnHeader = _headers.get(column);
+            if (columnHeader != null && columnHeader.trim().equals(wanted)) return column;
+        }
+        return -1;
+    }
+
+    public List<Row> getRows() { return _rows; }
+
+    //
+    // Rows after the header rows.
+    //
+    public List<Row> getDataRows() { return _rows.subList(_headerRowCount, _rows.size()); }
+
+    public Row getRow(int row) {
+        if (row < 0 || row >= _rows.size()) {
+            throw new RuntimeException(String.format("Table has [%d] rows but row index is [%d] (Zero based)", _rows.size(), row));
+        }
+        return _rows.get(row);
+    }
+
+    public CellData getCell(int row, int column) { return getRow(row).getCell(column); }
+    public CellData getCell(int row, String header) { return getRow(row).getCell(header); }
+
+    //
+    // Text of every data row's cell in the given column.
+    //
+    public List<String> getColumnTexts(int column) {
+        List<String> texts = new ArrayList<String>(_rows.size() - _headerRowCount);
+        for (Row row : getDataRows()) {
+            texts.add(row.getText(column));
+        }
+        return texts;
+    }
+    public List<String> getColumnTexts(String header) { return getColumnTexts(getColumnIndexOrThrow(header)); }
+
+    //
+    // Data rows keyed by their (trimmed) text in the given column.  Built on first use, with a single pass over the rows, and kept with the snapshot;
+    // so every lookup after the first is a hash lookup.
+    //
+    public Map<String, List<Row>> indexBy(int column) {
+        if (column < 0 || column >= _columnCount) {
+            throw new RuntimeException(String.format("Table has [%d] columns but column index is [%d] (Zero based)", _columnCount, column));
+        }
+        return _columnIndexes.computeIfAbsent(column, key -> buildIndex(column));
+    }
+    public Map<String, List<Row>> indexBy(String header) { return indexBy(getColumnIndexOrThrow(header)); }
+
+    //
+    // Data rows whose text in the given column equals value (trimmed).  Empty if none.
+    //
+    public List<Row> findRows(int column, String value) {
+        List<Row> rows = indexBy(column).get((value == null) ? null : value.trim());
+        return (rows == null) ? Collections.<Row>emptyList() : rows;
+    }
+    public List<Row> findRows(String header, String value) { return findRows(getColumnIndexOrThrow(header), value); }
+
+    private Map<String, List<Row>> buildIndex(int column) {
+        Map<String, List<Row>> index = new HashMap<String, List<Row>>();
+        for (Row row : getDataRows()) {
+            CellData cell = row.getCell(column);
+            if (cell != null) {
+                index.computeIfAbsent(cell.getText().trim(), key -> new ArrayList<Row>(1)).add(row);
+            }
+        }
+        for (Map.Entry<String, List<Row>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private int getColumnIndexOrThrow(String header) {
+        int column = getColumnIndex(header);
+        if (column < 0) {
+            throw new RuntimeException(String.format("Table has no column with header [%s].  Headers are %s", header, _headers.toString()));
+        }
+        return column;
+    }
+
+    private static CellData cellAt(List<CellData[]> grid, int row, int column) {
+        if (row >= grid.size()) return null;
+        CellData[] cells = grid.get(row);
+        return (column < cells.length) ? cells[column] : null;
+    }
+
+    private static void setCellAt(List<CellData[]> grid, int row, int column, CellData cell) {
+        while (grid.size() <= row) grid.add(new CellData[0]);
+        CellData[] cells = grid.get(row);
+        if (column >= cells.length) {
+            CellData[] grown = new CellData[Math.max(column + 1, cells.length * 2)];
+            System.arraycopy(cells, 0, grown, 0, cells.length);
+            grid.set(row, grown);
+            cells = grown;
+        }
+        cells[column] = cell;
+    }
+}
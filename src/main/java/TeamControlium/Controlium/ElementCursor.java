@@ -0,0 +1,104 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+import org.openqa.selenium.WebElement;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+//
+// Iterates over the elements matching an ObjectMapping, fetching them from the browser a chunk at a time (See SeleniumDriver.streamElements).
+// The find is done once, in the browser, when the cursor is opened; matches are then held in the browser and only passed back to us as the
+// iteration reaches them.  So a caller that stops early (IE. Stream findFirst) never pulls the rest of the matches over the wire.
+//
+// Cursor releases its browser-side matches once the last has been fetched, or when closed.  A cursor abandoned part way through holds them
+// until the page is navigated away from, so streams should be closed (try-with-resources) when not run to completion.
+//
+final class ElementCursor implements Iterator<HTMLElement>, AutoCloseable {
+
+    private final SeleniumDriver _seleniumDriver;
+    private final HTMLElement _parentElement;
+    private final ObjectMapping _mapping;
+    private final int _chunkSize;
+    private long _cursorId;
+    private int _totalMatches;
+    private List<?> _chunk;
+    private int _chunkStart;
+    private int _nextIndex;
+
+    ElementCursor(SeleniumDriver seleniumDriver, HTMLElement parentElement, ObjectMapping mapping, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new RuntimeException(String.format("Element cursor chunk size [%d] must be 1 or more", chunkSize));
+        }
+        _seleniumDriver = seleniumDriver;
+        _parentElement = parentElement;
+        _mapping = mapping.copy();  // Copied now so later changes to the caller's mapping (IE. ResolveParameters) do not affect the elements returned
+        _chunkSize = chunkSize;
+
+        List<?> opened = seleniumDriver.executeJavaScript(List.class,
+                BrowserScripts.OPEN_ELEMENT_CURSOR,
+                (parentElement == null) ? null : parentElement.getUnderlyingWebElement(),
+                _mapping.getMappingType().name(),
+                _mapping.getFindLogicValue(),
+                chunkSize);
+        _cursorId = ((Number) opened.get(0)).longValue();
+        _totalMatches = ((Number) opened.get(1)).intValue();
+        _chunk = (List<?>) opened.get(2);
+        _chunkStart = 0;
+        _nextIndex = 0;
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Opened cursor over [%d] elements matching [%s] (%s)", _totalMatches, _mapping.getOriginalFindLogic(), _mapping.getFriendlyName()));
+    }
+
+    //
+    // Total number of elements matched when the cursor was opened.
+    //
+    int getTotalMatches() {
+        return _totalMatches;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return _nextIndex < _totalMatches;
+    }
+
+    @Override
+    public HTMLElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException(String.format("All [%d] elements matching [%s] (%s) have been returned", _totalMatches, _mapping.getOriginalFindLogic(), _mapping.getFriendlyName()));
+        }
+        if (_nextIndex >= _chunkStart + _chunk.size()) {
+            fetchNextChunk();
+        }
+        int index = _nextIndex++;
+        return new HTMLElement(_seleniumDriver, (WebElement) _chunk.get(index - _chunkStart), _mapping.indexedCopy(index));
+    }
+
+    @Override
+    public void close() {
+        if (_cursorId != 0) {
+            try {
+                _seleniumDriver.executeJavaScriptNoReturnData(BrowserScripts.CLOSE_ELEMENT_CURSOR, _cursorId);
+            } catch (Exception e) {
+                // Browser side cursor goes with the page anyway so nothing more we can do
+                Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Unable to close cursor for [%s] (%s): %s", _mapping.getOriginalFindLogic(), _mapping.getFriendlyName(), e.getMessage());
+            }
+            _cursorId = 0;
+        }
+        _totalMatches = Math.min(_totalMatches, _nextIndex);
+    }
+
+    private void fetchNextChunk() {
+        List<?> chunk = (_cursorId == 0) ? null : _seleniumDriver.executeJavaScript(List.class, BrowserScripts.FETCH_ELEMENT_CURSOR, _cursorId, _nextIndex, _chunkSize);
+        if (chunk == null || chunk.isEmpty()) {
+            _cursorId = 0;
+            throw new RuntimeException(String.format("Cursor over elements matching [%s] (%s) lost after [%d] of [%d] elements.  Has the page changed?", _mapping.getOriginalFindLogic(), _mapping.getFriendlyName(), _nextIndex, _totalMatches));
+        }
+        if (_nextIndex + chunk.size() >= _totalMatches) {
+            // Browser releases the cursor when it returns the last chunk
+            _cursorId = 0;
+        }
+        _chunk = chunk;
+        _chunkStart = _nextIndex;
+    }
+}
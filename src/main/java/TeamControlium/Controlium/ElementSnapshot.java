@@ -0,0 +1,98 @@
+package TeamControlium.Controlium;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+//
+// Immutable set of an element's properties, all read in a single round trip (See HTMLElement.snapshot).  Only the properties asked for are
+// captured; asking for any other throws.  Values are as they were when the snapshot was taken; take another to see changes.
+//
+public final class ElementSnapshot {
+
+    public enum Property {
+        RECT,           // Bounding client rectangle (position relative to viewport and size)
+        SIZE,           // Client height and width (as HTMLElement.getSize)
+        DISPLAYED,      // Element displayed; by Selenium's own isDisplayed script, so as WebElement.isDisplayed
+        IN_VIEWPORT,    // Element wholly within the browser viewport
+        ENABLED,        // Element not disabled
+        TEXT,           // Text rendered to the user (innerText)
+        ATTRIBUTES      // All attributes the element has
+    }
+
+    private final Set<Property> _properties;
+    private final long _takenAtNanos;
+    private final Rectangle _rect;
+    private final Size _size;
+    private final boolean _displayed;
+    private final boolean _inViewport;
+    private final boolean _enabled;
+    private final String _text;
+    private final Map<String, String> _attributes;
+
+    //
+    // Built from the map returned by BrowserScripts.ELEMENT_SNAPSHOT
+    //
+    ElementSnapshot(Set<Property> properties, Map<?, ?> values) {
+        _properties = Collections.unmodifiableSet(EnumSet.copyOf(properties));
+        _takenAtNanos = System.nanoTime();
+
+        List<?> rect = (List<?>) values.get("rect");
+        _rect = (rect == null) ? null : new Rectangle(toInt(rect.get(0)), toInt(rect.get(1)), toInt(rect.get(3)), toInt(rect.get(2)));
+        List<?> size = (List<?>) values.get("size");
+        _size = (size == null) ? null : new Size(toInt(size.get(0)), toInt(size.get(1)));
+        _displayed = Boolean.TRUE.equals(values.get("displayed"));
+        _inViewport = Boolean.TRUE.equals(values.get("inViewport"));
+        _enabled = Boolean.TRUE.equals(values.get("enabled"));
+        _text = (values.get("text") == null) ? null : values.get("text").toString();
+
+        Map<String, String> attributes = new LinkedHashMap<String, String>();
+        Map<?, ?> attributeValues = (Map<?, ?>) values.get("attributes");
+        if (attributeValues != null) {
+            for (Map.Entry<?, ?> attribute : attributeValues.entrySet()) {
+                attributes.put(attribute.getKey().toString(), (attribute.getValue() == null) ? "" : attribute.getValue().toString());
+            }
+        }
+        _attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public boolean has(Property property) { return _properties.contains(property); }
+    public Set<Property> getProperties() { return _properties; }
+
+    //
+    // Milliseconds since snapshot was taken
+    //
+    public long getAgeMillis() { return (System.nanoTime() - _takenAtNanos) / 1000000; }
+
+    public Rectangle getRect() { throwIfNotCaptured(Property.RECT); return _rect; }
+    public Size getSize() { throwIfNotCaptured(Property.SIZE); return _size; }
+    public boolean isDisplayed() { throwIfNotCaptured(Property.DISPLAYED); return _displayed; }
+    public boolean isInViewport() { throwIfNotCaptured(Property.IN_VIEWPORT); return _inViewport; }
+    public boolean isEnabled() { throwIfNotCaptured(Property.ENABLED); return _enabled; }
+    public String getText() { throwIfNotCaptured(Property.TEXT); return _text; }
+    public Map<String, String> getAttributes() { throwIfNotCaptured(Property.ATTRIBUTES); return _attributes; }
+    public boolean hasAttribute(String attribute) { return getAttributes().containsKey(attribute); }
+
+    //
+    // Attribute value, or empty string if element does not have the attribute (same as HTMLElement.getAttribute)
+    //
+    public String getAttribute(String attribute) {
+        String value = getAttributes().get(attribute);
+        return (value == null) ? "" : value;
+    }
+
+    private void throwIfNotCaptured(Property property) {
+        if (!has(property)) {
+            throw new RuntimeException(String.format("Property [%s] not captured in snapshot.  Snapshot has %s", property.name(), _properties.toString()));
+        }
+    }
+
+    private static int toInt(Object value) {
+        return (int) Math.round(((Number) value).doubleValue());
+    }
+}
@@ -0,0 +1,157 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+//
+// Find statistics for every ObjectMapping found by any SeleniumDriver (in any thread); number of finds, polls, time to first match and finds
+// that timed out.  Mappings are identified by original find logic and friendly name, so the same mapping used from different page objects (or
+// resolved with different parameters) is counted together.
+//
+// Counters are LongAdders (striped; no locking, little contention between parallel test threads) held in a ConcurrentHashMap, so recording a
+// find costs next to nothing compared to the find itself.  At the end of a run getSlowestLocators/writeSlowestLocatorsReport show which
+// mappings the run spent its time waiting on.
+//
+public final class FindStatistics {
+
+    private static final ConcurrentHashMap<String, MappingStatistics> statistics = new ConcurrentHashMap<String, MappingStatistics>();
+    private static volatile boolean _enabled = true;
+
+    private FindStatistics() {
+    }
+
+    public static boolean setEnabled(boolean enabled) { _enabled = enabled; return getEnabled(); }
+    public static boolean getEnabled() { return _enabled; }
+
+    //
+    // Statistics for a single mapping.  Live; values continue to change as finds using the mapping are done.
+    //
+    public static final class MappingStatistics {
+        private final String _findLogic;
+        private final String _friendlyName;
+        private final LongAdder _finds = new LongAdder();
+        private final LongAdder _polls = new LongAdder();
+        private final LongAdder _timeouts = new LongAdder();
+        private final LongAdder _matchedFinds = new LongAdder();
+        private final LongAdder _totalTimeToFirstMatchMillis = new LongAdder();
+        private final LongAccumulator _maxTimeToFirstMatchMillis = new LongAccumulator(Long::max, 0);
+        private final LongAdder _totalFindMillis = new LongAdder();
+
+        private MappingStatistics(String findLogic, String friendlyName) {
+            _findLogic = findLogic;
+            _friendlyName = friendlyName;
+        }
+
+        public String getFindLogic() { return _findLogic; }
+        public String getFriendlyName() { return _friendlyName; }
+        public long getFinds() { return _finds.sum(); }
+        public long getPolls() { return _polls.sum(); }
+        public long getTimeouts() { return _timeouts.sum(); }
+        public long getTotalTimeToFirstMatchMillis() { return _totalTimeToFirstMatchMillis.sum(); }
+        public long getMaxTimeToFirstMatchMillis() { return _maxTimeToFirstMatchMillis.get(); }
+        //
+        // Total time spent in finds using this mapping; including finds that timed out and time waiting for single match/stability after first match.
+        //
+        public long getTotalFindMillis() { return _totalFindMillis.sum(); }
+
+        public double getAveragePollsPerFind() {
+            long finds = getFinds();
+            return (finds == 0) ? 0 : (double) getPolls() / finds;
+        }
+
+        public double getAverageTimeToFirstMatchMillis() {
+            long matchedFinds = _matchedFinds.sum();
+            return (matchedFinds == 0) ? 0 : (double) getTotalTimeToFirstMatchMillis() / matchedFinds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s] (%s): %d finds, %.1f polls/find, %.0fmS avg (%dmS max) to first match, %d timed out, %dmS total",
+                    _findLogic, _friendlyName, getFinds(), getAveragePollsPerFind(), getAverageTimeToFirstMatchMillis(), getMaxTimeToFirstMatchMillis(), getTimeouts(), getTotalFindMillis());
+        }
+    }
+
+    //
+    // Progress of a single find, built up as the find polls and recorded (See record) when it completes.  Not shared between threads.
+    //
+    static final class FindRecord {
+        private int _polls = 0;
+        private long _timeToFirstMatchMillis = -1;
+
+        //
+        // Called after each poll (or in-browser wait) with the number of matches and time since find started.
+        //
+        void polled(int matches, long elapsedMillis) {
+            _polls++;
+            if (matches > 0 && _timeToFirstMatchMillis < 0) _timeToFirstMatchMillis = elapsedMillis;
+        }
+    }
+
+    static FindRecord startFind() {
+        return getEnabled() ? new FindRecord() : null;
+    }
+
+    //
+    // Records a completed find.  findRecord is null if statistics were disabled when the find started.
+    //
+    static void record(ObjectMapping mapping, FindRecord findRecord, long findMillis, boolean timedOut) {
+        if (findRecord == null) return;
+        record(mapping, findRecord._polls, findRecord._timeToFirstMatchMillis, findMillis, timedOut);
+    }
+
+    //
+    // Records a completed find that took the given number of polls.  timeToFirstMatchMillis is -1 if nothing was ever matched.
+    //
+    static void record(ObjectMapping mapping, int polls, long timeToFirstMatchMillis, long findMillis, boolean timedOut) {
+        if (mapping == null) return;
+        String findLogic = mapping.getOriginalFindLogic();
+        String friendlyName = mapping.getFriendlyName();
+        MappingStatistics mappingStatistics = statistics.computeIfAbsent(findLogic + '\n' + friendlyName, key -> new MappingStatistics(findLogic, friendlyName));
+        mappingStatistics._finds.increment();
+        mappingStatistics._polls.add(polls);
+        mappingStatistics._totalFindMillis.add(findMillis);
+        if (timedOut) mappingStatistics._timeouts.increment();
+        if (timeToFirstMatchMillis >= 0) {
+            mappingStatistics._matchedFinds.increment();
+            mappingStatistics._totalTimeToFirstMatchMillis.add(timeToFirstMatchMillis);
+            mappingStatistics._maxTimeToFirstMatchMillis.accumulate(timeToFirstMatchMillis);
+        }
+    }
+
+    public static List<MappingStatistics> getAll() {
+        return new ArrayList<MappingStatistics>(statistics.values());
+    }
+
+    //
+    // Mappings ranked by total time spent finding them, slowest first.  Returns no more than maxLocators.
+    //
+    public static List<MappingStatistics> getSlowestLocators(int maxLocators) {
+        List<MappingStatistics> ranked = getAll();
+        ranked.sort(Comparator.comparingLong(MappingStatistics::getTotalFindMillis).reversed());
+        return (ranked.size() > maxLocators) ? new ArrayList<MappingStatistics>(ranked.subList(0, Math.max(0, maxLocators))) : ranked;
+    }
+
+    public static String getSlowestLocatorsReport(int maxLocators) {
+        List<MappingStatistics> slowest = getSlowestLocators(maxLocators);
+        StringBuilder report = new StringBuilder(String.format("Slowest %d of %d locators (by total find time):", slowest.size(), statistics.size()));
+        int rank = 1;
+        for (MappingStatistics mappingStatistics : slowest) {
+            report.append(String.format("%n%3d. %s", rank++, mappingStatistics.toString()));
+        }
+        return report.toString();
+    }
+
+    public static void writeSlowestLocatorsReport(int maxLocators) {
+        Logger.WriteLine(Logger.LogLevels.TestInformation, "%s", getSlowestLocatorsReport(maxLocators));
+    }
+
+    public static void reset() {
+        statistics.clear();
+    }
+}
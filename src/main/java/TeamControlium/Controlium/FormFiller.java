@@ -0,0 +1,141 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//
+// Fills any number of form fields in a few round trips (See SeleniumDriver.formFiller and ControlBase.formFiller).  Fields are added, with the value
+// wanted, then fill finds every field in a single batched find and sets all their values in a single script; each field being sent the input, change
+// and blur events a user's entry would cause (See BrowserScripts.FILL_FIELDS).
+//
+// Fields that need real keystrokes (IE. masked inputs or those reacting to key events) can be added as such and are cleared and typed into
+// (HTMLElement.setText) after the others are set.  File inputs are always typed into.
+//
+public final class FormFiller {
+
+    private static final String KEYSTROKES = "KEYSTROKES";   // Returned by FILL_FIELDS for fields that can only be set by typing
+
+    private final SeleniumDriver _seleniumDriver;
+    private final HTMLElement _parentElement;
+    private final List<Field> _fields = new ArrayList<Field>();
+
+    private static final class Field {
+        private final ObjectMapping _mapping;
+        private final String _value;
+        private final boolean _useKeystrokes;
+
+        private Field(ObjectMapping mapping, String value, boolean useKeystrokes) {
+            _mapping = mapping;
+            _value = (value == null) ? "" : value;
+            _useKeystrokes = useKeystrokes;
+        }
+    }
+
+    FormFiller(SeleniumDriver seleniumDriver, HTMLElement parentElement) {
+        if (seleniumDriver == null) throw new RuntimeException("FormFiller seleniumDriver null!");
+        _seleniumDriver = seleniumDriver;
+        _parentElement = parentElement;
+    }
+
+    public FormFiller addField(ObjectMapping mapping, String value) {
+        return addField(mapping, value, false);
+    }
+
+    //
+    // useKeystrokes true to have field cleared and typed into rather than set by script.
+    //
+    public FormFiller addField(ObjectMapping mapping, String value, boolean useKeystrokes) {
+        if (mapping == null) throw new RuntimeException("FormFiller field mapping null!");
+        _fields.add(new Field(mapping, value, useKeystrokes));
+        return this;
+    }
+
+    //
+    // Adds a field for each entry; mapping to value.  Fields are filled in map iteration order.
+    //
+    public FormFiller addFields(Map<ObjectMapping, String> fields) {
+        if (fields != null) {
+            for (Map.Entry<ObjectMapping, String> field : fields.entrySet()) {
+                addField(field.getKey(), field.getValue());
+            }
+        }
+        return this;
+    }
+
+    public int getFieldCount() {
+        return _fields.size();
+    }
+
+    //
+    // Finds and fills all fields.  Throws, listing every field not filled and why, if any could not be.
+    //
+    public void fill() {
+        if (_fields.isEmpty()) return;
+        StopWatch timer = StopWatch.createStarted();
+
+        ObjectMapping[] mappings = new ObjectMapping[_fields.size()];
+        for (int index = 0; index < _fields.size(); index++) {
+            mappings[index] = _fields.get(index)._mapping;
+        }
+        Map<ObjectMapping, List<HTMLElement>> found = _seleniumDriver.findElements(_parentElement, mappings);
+
+        List<HTMLElement> elements = new ArrayList<HTMLElement>(_fields.size());
+        List<Object> scriptedFields = new ArrayList<Object>();
+        List<Integer> scriptedIndexes = new ArrayList<Integer>();
+        for (int index = 0; index < _fields.size(); index++) {
+            Field field = _fields.get(index);
+            HTMLElement element = found.get(field._mapping).get(0);
+            elements.add(element);
+            if (!field._useKeystrokes) {
+                List<Object> scriptedField = new ArrayList<Object>(2);
+                scriptedField.add(element.getUnderlyingWebElement());
+                scriptedField.add(field._value);
+                scriptedFields.add(scriptedField);
+                scriptedIndexes.add(index);
+            }
+        }
+
+        String[] failures = new String[_fields.size()];
+        boolean[] typeInto = new boolean[_fields.size()];
+        for (int index = 0; index < _fields.size(); index++) {
+            typeInto[index] = _fields.get(index)._useKeystrokes;
+        }
+        if (!scriptedFields.isEmpty()) {
+            List<?> results = _seleniumDriver.executeJavaScript(List.class, BrowserScripts.FILL_FIELDS, scriptedFields);
+            for (int resultIndex = 0; resultIndex < results.size(); resultIndex++) {
+                Object result = results.get(resultIndex);
+                int index = scriptedIndexes.get(resultIndex);
+                if (KEYSTROKES.equals(result)) typeInto[index] = true;
+                else if (result != null) failures[index] = result.toString();
+            }
+        }
+
+        for (int index = 0; index < _fields.size(); index++) {
+            if (typeInto[index]) {
+                try {
+                    elements.get(index).setText(_fields.get(index)._value);
+                } catch (Exception e) {
+                    failures[index] = String.format("error typing value: %s", e.getMessage());
+                }
+            }
+        }
+
+        StringBuilder failed = new StringBuilder();
+        int failedCount = 0;
+        for (int index = 0; index < _fields.size(); index++) {
+            if (failures[index] != null) {
+                failedCount++;
+                failed.append(String.format("%n  [%s] (%s): %s", _fields.get(index)._mapping.getFriendlyName(), _fields.get(index)._mapping.getActualFindLogic(), failures[index]));
+            }
+        }
+        if (failedCount > 0) {
+            Logger.WriteLine(Logger.LogLevels.Error, "Unable to fill [%d] of [%d] form fields:%s", failedCount, _fields.size(), failed.toString());
+            throw new RuntimeException(String.format("Unable to fill [%d] of [%d] form fields:%s", failedCount, _fields.size(), failed.toString()));
+        }
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Filled [%d] form fields in [%d]mS", _fields.size(), timer.getTime()));
+    }
+}
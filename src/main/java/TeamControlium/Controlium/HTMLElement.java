@@ -6,25 +6,32 @@ import org.apache.commons.lang3.time.StopWatch;
 //import org.openqa.selenium.WebElement;
 
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class HTMLElement {
 
     private ObjectMapping _mappingDetails;
     private Object _webElement;
     private Object _parentElementOrDriver;
+    private ElementSnapshot _lastSnapshot;
+    private TextEntryMode _textEntryMode;
+    private DomGeneration _boundGeneration;    // DOM generation element was last known to be in the page at; null if not known
 
     private long elementDefaultChangeDeltaTimemS = 200; // Time to wait between samples when checking if an element is changing (IE. moving on screen)
 
     private enum StabilityType {
-        HEIGHT("Height"), WIDTH("Width"), SIZE("Size"), POSITION("Position");
+        HEIGHT("Height", StabilityProperty.HEIGHT), WIDTH("Width", StabilityProperty.WIDTH), SIZE("Size", StabilityProperty.WIDTH, StabilityProperty.HEIGHT), POSITION("Position", StabilityProperty.RECT);
         private String asString;
+        private String[] properties;
 
-        private StabilityType(String stringRepresentation) {
+        private StabilityType(String stringRepresentation, String... properties) {
             this.asString = stringRepresentation;
+            this.properties = properties;
         }
 
         @Override
@@ -80,10 +87,15 @@ public class HTMLElement {
 
     public Object setUnderlyingWebElement(Object webElement,ObjectMapping mapping) {
         _webElement = webElement;
+        _lastSnapshot = null;
+        _boundGeneration = null;
         _mappingDetails = mapping==null?new ObjectMapping(null, String.format("Wired directly to underlying UI driver WebElement [%s]", webElement.getClass().getName())):mapping;
         return _webElement;
     } // Manually wiring to WebElement so we have no mapping details!
 
+    DomGeneration getBoundGeneration() { return _boundGeneration; }
+    DomGeneration setBoundGeneration(DomGeneration boundGeneration) { _boundGeneration = boundGeneration; return getBoundGeneration(); }
+
     public ObjectMapping getMappingDetails() {
         return _mappingDetails;
     }
@@ -147,27 +159,31 @@ public class HTMLElement {
         return isVisible(false);
     }
 
+    //
+    // Checking the viewport takes displayed and in-viewport in a single snapshot.  Otherwise Selenium decides whether displayed.  Either way a single
+    // call (none if answered from a cached snapshot); and displayed is by the same rules, as snapshots use Selenium's own isDisplayed script.
+    //
     public boolean isVisible(boolean checkIfElementIsInViewport) {
         throwIfUnbound(); // We need this to be bound to an element!
-        Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Verifying if element is visible");
-        boolean seleniumStatesElementDisplayed = getSeleniumDriver().isDisplayed(_webElement);
-
-        if (checkIfElementIsInViewport && seleniumStatesElementDisplayed) {
-            boolean elementWithinViewport = false;
-            String sResult = null;
-            try {
-                sResult = getSeleniumDriver().executeJavaScript(String.class, "var rect = arguments[0].getBoundingClientRect(); return ( rect.top >= 0 && rect.left >= 0 && rect.bottom <= (window.innerHeight || document.documentElement.clientHeight) && rect.right <= (window.innerWidth || document.documentElement.clientWidth));", _webElement);
-                return (sResult.trim().toLowerCase() == "true");
-            } catch (Exception e) {
-                throw new RuntimeException(String.format("Exception executing Javascript to find status of element [%s]", getFriendlyName()));
+        Log.writeLine(Logger.LogLevels.FrameworkInformation, "Verifying if element is visible");
+        if (checkIfElementIsInViewport) {
+            ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.DISPLAYED, ElementSnapshot.Property.IN_VIEWPORT);
+            if (snapshot == null) {
+                try {
+                    snapshot = snapshot(ElementSnapshot.Property.DISPLAYED, ElementSnapshot.Property.IN_VIEWPORT);
+                } catch (Exception e) {
+                    throw new RuntimeException(String.format("Exception executing Javascript to find status of element [%s]", getFriendlyName()), e);
+                }
             }
+            return snapshot.isDisplayed() && snapshot.isInViewport();
         } else {
-            return checkIfElementIsInViewport;
+            ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.DISPLAYED);
+            return (snapshot == null) ? getSeleniumDriver().isDisplayed(_webElement) : snapshot.isDisplayed();
         }
     }
 
     public boolean isHeightStable(Duration deltaTime) {
-        return !isAttributeChanging("offsetHeight", deltaTime);
+        return isStable(deltaTime, StabilityProperty.HEIGHT);
     }
 
     public boolean isHeightStable() {
@@ -175,7 +191,7 @@ public class HTMLElement {
     }
 
     public boolean isWidthStable(Duration deltaTime) {
-        return !isAttributeChanging("offsetWidth", deltaTime);
+        return isStable(deltaTime, StabilityProperty.WIDTH);
     }
 
     public boolean isWidthStable() {
@@ -183,7 +199,7 @@ public class HTMLElement {
     }
 
     public boolean isSizeStable(Duration deltaTime) {
-        return !isAttributeChanging(new String[]{"offsetWidth", "offsetHeight"}, deltaTime);
+        return isStable(deltaTime, StabilityProperty.WIDTH, StabilityProperty.HEIGHT);
     }
 
     public boolean isSizeStable() {
@@ -191,29 +207,7 @@ public class HTMLElement {
     }
 
     public boolean isPositionStable(Duration timeDelta) {
-        boolean isChanging;
-        String jsGetPositionalData = "var rect = arguments[0].getBoundingClientRect(); return '' + rect.left + ',' + rect.top + ',' + rect.right + ',' + rect.bottom";
-        try {
-            String first = getSeleniumDriver().executeJavaScript(String.class, jsGetPositionalData, _webElement);
-            try {
-                Thread.sleep(timeDelta.toMillis());
-            } catch (Exception e) {
-                Logger.WriteLine(Logger.LogLevels.Error, "Exception sleeping during change monitoring of attribute.");
-                throw new RuntimeException(String.format("Exception sleeping during time stop-start delta", e));
-            }
-            String second = getSeleniumDriver().executeJavaScript(String.class, jsGetPositionalData, _webElement);
-            isChanging = first.equals(second);
-            Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Time Delta [%dmS], First State [%s], Second State [%s] - %s",
-                    getFriendlyName(),
-                    timeDelta.toMillis(),
-                    first,
-                    second,
-                    (isChanging) ? "Is changing" : "Is not changing");
-            return (first.equals(second));
-        } catch (Exception e) {
-            Logger.WriteLine(Logger.LogLevels.Error, "Exception monitoring position of element [%s]: %s", this.getFriendlyName(), e.toString());
-            throw new RuntimeException(String.format("Exception monitoring element attribute. See log.", e));
-        }
+        return isStable(timeDelta, StabilityProperty.RECT);
     }
 
     public boolean isPositionStable() {
@@ -223,98 +217,151 @@ public class HTMLElement {
     public boolean isElementEnabled() {
         boolean elementEnabled = false;
         if (_webElement != null) {
-            elementEnabled = getSeleniumDriver().isEnabled(_webElement);
-            Logger.WriteLine(Logger.LogLevels.FrameworkInformation, String.format("Element [%s] enabled = [%s]", getFriendlyName(), (elementEnabled) ? "true" : "false"));
+            ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.ENABLED);
+            elementEnabled = (snapshot == null) ? getSeleniumDriver().isEnabled(_webElement) : snapshot.isEnabled();
+            if (Log.isEnabled(Logger.LogLevels.FrameworkInformation)) Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Element [%s] enabled = [%s]", getFriendlyName(), (elementEnabled) ? "true" : "false");
             return elementEnabled;
         } else {
-            Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Element enabled = [Web or element is NULL, returning false]");
+            Log.writeLine(Logger.LogLevels.FrameworkInformation, "Element enabled = [Web or element is NULL, returning false]");
             return false;
         }
     }
 
     public Size getSize() {
-        String height = getSeleniumDriver().executeJavaScript(String.class, "return arguments[0].clientHeight", _webElement);
-        String width = getSeleniumDriver().executeJavaScript(String.class, "return arguments[0].clientWidth", _webElement);
-        int heightInt;
-        int widthInt;
+        throwIfUnbound();
+        ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.SIZE);
+        Size size = ((snapshot == null) ? snapshot(ElementSnapshot.Property.SIZE) : snapshot).getSize();
+        Log.writeLine(Logger.LogLevels.TestDebug, () -> String.format("Element [%s], Height [%d], Width [%d]", getFriendlyName(), size.getHeight(), size.getWidth()));
+        return size;
+    }
 
-        try {
-            heightInt = Integer.parseInt(height);
-        } catch (Exception e) {
-            throw new RuntimeException(String.format("Error parsing height [%s] from Javascript execution for element [%s]", height, getFriendlyName()));
+    //
+    // Takes the given properties of the element in a single round trip (all properties if none given).  So, where several properties of an element
+    // are needed together, one snapshot is cheaper than calling the getters in turn and the values are consistent with each other.
+    //
+    // Element keeps its last snapshot; getters use it while it is younger than SeleniumDriver.getSnapshotCacheLifetime (and has the property).
+    //
+    public ElementSnapshot snapshot(ElementSnapshot.Property... properties) {
+        throwIfUnbound();
+        EnumSet<ElementSnapshot.Property> wanted = (properties == null || properties.length == 0) ? EnumSet.allOf(ElementSnapshot.Property.class) : EnumSet.copyOf(Arrays.asList(properties));
+        List<String> propertyNames = new ArrayList<String>();
+        for (ElementSnapshot.Property property : wanted) {
+            propertyNames.add(property.name());
         }
+        Map<?, ?> values = getSeleniumDriver().executeJavaScript(Map.class, wanted.contains(ElementSnapshot.Property.DISPLAYED) ? BrowserScripts.ELEMENT_SNAPSHOT_DISPLAYED : BrowserScripts.ELEMENT_SNAPSHOT, _webElement, propertyNames);
+        ElementSnapshot snapshot = new ElementSnapshot(wanted, values);
+        _lastSnapshot = snapshot;
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Snapshot of [%s] taken: %s", getFriendlyName(), wanted.toString()));
+        return snapshot;
+    }
 
-        try {
-            widthInt = Integer.parseInt(width);
-        } catch (Exception e) {
-            throw new RuntimeException(String.format("Error parsing height [%s] from Javascript execution for element [%s]", width, getFriendlyName()));
-        }
-        Size size = new Size(heightInt, widthInt);
-        Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Height [%d], Width [%s]", getFriendlyName(), size.getHeight(), size.getWidth());
-        return size;
+    //
+    // Discards element's last snapshot, so getters go to the browser.  Done whenever we change the element (click, clear, enter text); call if the
+    // element is known to have been changed by other means.
+    //
+    public void invalidateSnapshot() {
+        _lastSnapshot = null;
     }
 
-    private boolean isAttributeChanging(String attributeName, Duration timeDelta) {
-        boolean isChanging;
-        try {
-            String first = getSeleniumDriver().executeJavaScript(String.class, String.format("return argumaents[0].%s;", attributeName), _webElement);
-            try {
-                Thread.sleep(timeDelta.toMillis());
-            } catch (Exception e) {
-                Logger.WriteLine(Logger.LogLevels.Error, "Exception sleeping during change monitoring of attribute.");
-                throw new RuntimeException(String.format("Exception sleeping during time stop-start delta", e));
-            }
-            String second = getSeleniumDriver().executeJavaScript(String.class, String.format("return arguments[0].%s;", attributeName), _webElement);
-            isChanging = first.equals(second);
-            Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Attribute [%s], Time Delta [%dmS], First State [%s], Second State [%s] - %s",
-                    getFriendlyName(),
-                    attributeName,
-                    timeDelta.toMillis(),
-                    first,
-                    second,
-                    (isChanging) ? "Is changing" : "Is not changing");
-            return (first.equals(second));
-        } catch (Exception e) {
-            Logger.WriteLine(Logger.LogLevels.Error, "Exception monitoring attribute [%s] of element [%s]: %s", attributeName, this.getFriendlyName(), e.toString());
-            throw new RuntimeException(String.format("Exception monitoring element attribute. See log.", e));
+    //
+    // Element's last snapshot if it has all the given properties and is within the cache lifetime, otherwise null.
+    //
+    private ElementSnapshot cachedSnapshot(ElementSnapshot.Property... properties) {
+        ElementSnapshot snapshot = _lastSnapshot;
+        if (snapshot == null || _parentElementOrDriver == null) return null;
+        long lifetimeMillis = getSeleniumDriver().getSnapshotCacheLifetime().toMillis();
+        if (lifetimeMillis <= 0 || snapshot.getAgeMillis() >= lifetimeMillis) return null;
+        for (ElementSnapshot.Property property : properties) {
+            if (!snapshot.has(property)) return null;
         }
+        return snapshot;
     }
 
-    private boolean isAttributeChanging(String[] attributeNames, Duration timeDelta) {
-        HashMap<String, String> attributeFirstStates = new HashMap<String, String>();
-        boolean isChanging;
+    //
+    // True if none of the given properties (See StabilityProperty) change over the time delta.  Takes two samples, each a single round trip.
+    //
+    public boolean isStable(Duration timeDelta, String... properties) {
+        throwIfUnbound();
+        List<String> first = sampleProperties(properties);
+        sleepBetweenSamples(timeDelta.toMillis());
+        List<String> second = sampleProperties(properties);
+        boolean isStable = first.equals(second);
+        if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Properties [%s], Time Delta [%dmS], First State %s, Second State %s - %s",
+                getFriendlyName(),
+                String.join(", ", properties),
+                timeDelta.toMillis(),
+                first,
+                second,
+                (isStable) ? "Is not changing" : "Is changing");
+        return isStable;
+    }
 
-        for (String attributeName : attributeNames) {
-            attributeFirstStates.put(attributeName, getSeleniumDriver().executeJavaScript(String.class, String.format("return arguments[0].%s;", attributeName), _webElement));
+    //
+    // Waits until none of the given properties (See StabilityProperty) have changed for stableSamples consecutive samples, sampleInterval apart, or
+    // timeout (find timeout if null).  Each sample reads every property in one round trip.  Returns true if stable, false if still changing at
+    // timeout.
+    //
+    public boolean waitForStable(Duration timeout, Duration sampleInterval, int stableSamples, String... properties) {
+        throwIfUnbound();
+        if (properties == null || properties.length == 0) {
+            throw new RuntimeException(String.format("No properties given to wait for element [%s] to become stable", getFriendlyName()));
         }
+        if (stableSamples < 2) {
+            throw new RuntimeException(String.format("Stable samples [%d] must be 2 or more", stableSamples));
+        }
+        long timeoutMillis = ((timeout == null) ? getSeleniumDriver().getElementFindTimeout() : timeout).toMillis();
+        long intervalMillis = (sampleInterval == null) ? elementDefaultChangeDeltaTimemS : sampleInterval.toMillis();
+
+        StopWatch timeWaited = StopWatch.createStarted();
+        List<String> previous = sampleProperties(properties);
+        int samples = 1;
+        int identicalSamples = 1;
+        while (identicalSamples < stableSamples) {
+            long remainingMillis = timeoutMillis - timeWaited.getTime();
+            if (remainingMillis <= 0) break;
+            sleepBetweenSamples(Math.min(intervalMillis, remainingMillis));
+            List<String> current = sampleProperties(properties);
+            samples++;
+            identicalSamples = current.equals(previous) ? identicalSamples + 1 : 1;
+            previous = current;
+        }
+
+        boolean isStable = identicalSamples >= stableSamples;
+        if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Properties [%s] %s stable after %dmS (%d samples, last %s)",
+                getFriendlyName(),
+                String.join(", ", properties),
+                (isStable) ? "is" : "NOT",
+                timeWaited.getTime(),
+                samples,
+                previous);
+        return isStable;
+    }
 
+    //
+    // Current value of each property, read in a single script call
+    //
+    private List<String> sampleProperties(String... properties) {
+        List<?> values;
         try {
-            Thread.sleep(timeDelta.toMillis());
+            values = getSeleniumDriver().executeJavaScript(List.class, BrowserScripts.SAMPLE_PROPERTIES, _webElement, Arrays.asList(properties));
         } catch (Exception e) {
-            Logger.WriteLine(Logger.LogLevels.Error, "Exception sleeping during change monitoring of attribute.");
-            throw new RuntimeException(String.format("Exception sleeping during time stop-start delta", e));
-        }
-
-        for (Map.Entry<String, String> attributeFirstState : attributeFirstStates.entrySet()) {
-            String second = getSeleniumDriver().executeJavaScript(String.class, String.format("return argumaents[0].%s;", attributeFirstState.getKey()), _webElement);
-            isChanging = attributeFirstState.getValue().equals(second);
-
-            if (isChanging) {
-                Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Attribute [%s], Time Delta [%dmS], First State [%s], Second State [%s] - Is changing",
-                        getFriendlyName(),
-                        attributeFirstState.getKey(),
-                        timeDelta.toMillis(),
-                        attributeFirstState.getValue(),
-                        second);
-                return true;
-            }
+            Logger.WriteLine(Logger.LogLevels.Error, "Exception sampling properties [%s] of element [%s]: %s", String.join(", ", properties), getFriendlyName(), e.toString());
+            throw new RuntimeException(String.format("Exception sampling properties [%s] of element [%s]. See log.", String.join(", ", properties), getFriendlyName()), e);
         }
+        List<String> sample = new ArrayList<String>(values.size());
+        for (Object value : values) {
+            sample.add(String.valueOf(value));
+        }
+        return sample;
+    }
 
-        Logger.WriteLine(Logger.LogLevels.TestDebug, "Element [%s], Attributes [%s], Time Delta [%dmS].  All first states equal second states.  Element NOT changing",
-                getFriendlyName(),
-                String.join(", ", attributeNames),
-                timeDelta.toMillis());
-        return false;
+    private void sleepBetweenSamples(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (Exception e) {
+            Logger.WriteLine(Logger.LogLevels.Error, "Exception sleeping between samples during change monitoring of element [%s].", getFriendlyName());
+            throw new RuntimeException(String.format("Exception sleeping between samples during change monitoring of element [%s].", getFriendlyName()), e);
+        }
     }
 
 
@@ -327,6 +374,18 @@ public class HTMLElement {
         return getSeleniumDriver().findElements(this,mapping);
     }
 
+    public Map<ObjectMapping,List<HTMLElement>> findElements(ObjectMapping... mappings) {
+        // We can only do this if we have an instance of SeleniumDriver
+        throwIfUnbound();
+        return getSeleniumDriver().findElements(this,mappings);
+    }
+
+    public Stream<HTMLElement> streamElements(ObjectMapping mapping) {
+        // We can only do this if we have an instance of SeleniumDriver
+        throwIfUnbound();
+        return getSeleniumDriver().streamElements(this,mapping);
+    }
+
     public HTMLElement findElement(ObjectMapping mapping) {
         // We can only do this if we have an instance of SeleniumDriver
         throwIfUnbound();
@@ -375,8 +434,27 @@ public class HTMLElement {
         return waitForElementStable(StabilityType.SIZE, timeout);
     }
 
+    //
+    // Waits until element stops moving (and changing size) or timeout.  Detection is done in the browser, returning as soon as the element has
+    // been still for a number of animation frames (See SeleniumDriver.setStableFrameCount).  If the browser cannot do that, falls back to sampling
+    // the element's position from here.
+    //
     public boolean waitForPositionStable(Duration timeout) {
-        return waitForElementStable(StabilityType.POSITION, timeout);
+        throwIfUnbound();
+        Boolean isStable = isPositionStableInBrowser((timeout == null) ? getSeleniumDriver().getElementFindTimeout() : timeout);
+        return (isStable == null) ? waitForElementStable(StabilityType.POSITION, timeout) : isStable;
+    }
+
+    //
+    // True if element becomes position stable (detected in the browser) within timeout, false if not or null if browser could not detect it.
+    //
+    Boolean isPositionStableInBrowser(Duration timeout) {
+        throwIfUnbound();
+        Boolean isStable = getSeleniumDriver().waitForRectStable(_webElement, timeout.toMillis());
+        if (isStable != null) {
+            Log.writeLine(Logger.LogLevels.TestDebug, () -> String.format("Element [%s] %s position stable in browser (timeout %dmS)", getFriendlyName(), isStable ? "is" : "NOT", timeout.toMillis()));
+        }
+        return isStable;
     }
 
     public HTMLElement findElementAndBind() {
@@ -405,6 +483,7 @@ public class HTMLElement {
 
     public void clear() {
         throwIfUnbound();
+        invalidateSnapshot();
         try {
             getSeleniumDriver().clear(this.getUnderlyingWebElement());
         }
@@ -415,6 +494,17 @@ public class HTMLElement {
         }
     }
 
+    //
+    // How setText/enterText put text into this element; element's own mode if set, otherwise its mapping's, otherwise the driver's.
+    //
+    public TextEntryMode getTextEntryMode() {
+        if (_textEntryMode != null) return _textEntryMode;
+        ObjectMapping mapping = getMappingDetails();
+        if (mapping != null && mapping.getTextEntryMode() != null) return mapping.getTextEntryMode();
+        return getSeleniumDriver().getTextEntryMode();
+    }
+    public TextEntryMode setTextEntryMode(TextEntryMode textEntryMode) { _textEntryMode = textEntryMode; return getTextEntryMode();}
+
     public void setText(String text) {
         setText(text,1,null);}
     public void setText(String text,int maxTries) {
@@ -431,19 +521,25 @@ public class HTMLElement {
         try
         {
             // Loop until maximum retry count
-            while (tryIndex++ <= maxTries)
+            while (tryIndex++ < maxTries)
             {
                 try
                 {
-                    getSeleniumDriver().clear(this.getUnderlyingWebElement());
-                    enterText(text);
-                    if (tryIndex > 1) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "{0} attempt attempt good.)", tryIndex);
+                    if (getTextEntryMode() == TextEntryMode.DIRECT_VALUE) {
+                        // Replaces current text and checks it in a single call; no separate clear
+                        invalidateSnapshot();
+                        getSeleniumDriver().setTextDirect(this.getUnderlyingWebElement(),text,false);
+                    } else {
+                        getSeleniumDriver().clear(this.getUnderlyingWebElement());
+                        enterText(text);
+                    }
+                    if (tryIndex > 1 && Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "%d attempt attempt good.)", tryIndex);
                     return;
                 }
                 catch (InvalidElementState e)
                 {
-                    Thread.sleep(retryInterval.toMillis());
                     lastException = e;
+                    if (tryIndex < maxTries) Thread.sleep(interval.toMillis());
                 }
             }
             throw lastException;
@@ -473,21 +569,31 @@ public class HTMLElement {
         if (maxTries<1) throw new RuntimeException(String.format("Maximum tries [%d].  Cannot be less than 1.",maxTries));
         int tryIndex = 0;
         Duration interval = (retryInterval==null) ? Duration.ofMillis(200) : retryInterval;
+        invalidateSnapshot();
         try
         {
+            //
+            // Direct value entry sets the value to what it was before the first try plus the text (the first try noting what it was), so a retry
+            // does not append the text again.
+            //
+            String[] originalText = new String[1];
+
             // Loop until maximum retry count
-            while (tryIndex++ <= maxTries)
+            while (tryIndex++ < maxTries)
             {
                 try
                 {
-                    getSeleniumDriver().setText(this.getUnderlyingWebElement(),(text==null)?"":text);
-                    if (tryIndex > 1) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "{0} attempt attempt good.)", tryIndex);
+                    if (getTextEntryMode() == TextEntryMode.DIRECT_VALUE)
+                        getSeleniumDriver().setTextDirect(this.getUnderlyingWebElement(),text,true,originalText);
+                    else
+                        getSeleniumDriver().setText(this.getUnderlyingWebElement(),(text==null)?"":text);
+                    if (tryIndex > 1 && Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "%d attempt attempt good.)", tryIndex);
                     return;
                 }
                 catch (InvalidElementState e)
                 {
-                    Thread.sleep(retryInterval.toMillis());
                     lastException = e;
+                    if (tryIndex < maxTries) Thread.sleep(interval.toMillis());
                 }
             }
             throw lastException;
@@ -528,6 +634,7 @@ public class HTMLElement {
     }
     public String scrollIntoViewAndGetText(boolean includeDesendants) {
         throwIfUnbound();
+        invalidateSnapshot();  // Scrolling moves it
         try {
             return getSeleniumDriver().getText(getUnderlyingWebElement(),includeDesendants,true,false);
         }
@@ -542,6 +649,8 @@ public class HTMLElement {
 
     public String getAttribute(String attribute) {
         throwIfUnbound();
+        ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.ATTRIBUTES);
+        if (snapshot != null && snapshot.hasAttribute(attribute)) return snapshot.getAttribute(attribute);
         try {
             return getSeleniumDriver().getAttribute(getUnderlyingWebElement(),attribute);
         }
@@ -556,6 +665,8 @@ public class HTMLElement {
 
     public boolean hasAttribute(String attribute) {
         throwIfUnbound();
+        ElementSnapshot snapshot = cachedSnapshot(ElementSnapshot.Property.ATTRIBUTES);
+        if (snapshot != null) return snapshot.hasAttribute(attribute);
         try {
             return getSeleniumDriver().hasAttribute(getUnderlyingWebElement(),attribute);
         }
@@ -570,6 +681,7 @@ public class HTMLElement {
 
     public void click() {
         throwIfUnbound();
+        invalidateSnapshot();
         try {
             getSeleniumDriver().click(getUnderlyingWebElement());
         }
@@ -590,49 +702,15 @@ public class HTMLElement {
     }
     private boolean waitForElementStable(StabilityType stabilityType, Duration timeout) {
         throwIfUnbound();
-        boolean didStabilzeBeforeTimeout = false;
-        int iterations = 0;
         Duration actualTimeout = (timeout == null) ? getSeleniumDriver().getElementFindTimeout() : timeout;
-        long actualTimeoutMillis = actualTimeout.toMillis();
 
-        Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Wait %dms for element [%s] to become [%s] stable", actualTimeoutMillis, getFriendlyName(), stabilityType.toString());
+        Log.writeLine(Logger.LogLevels.FrameworkInformation, () -> String.format("Wait %dms for element [%s] to become [%s] stable", actualTimeout.toMillis(), getFriendlyName(), stabilityType.toString()));
 
-        StopWatch timeWaited = StopWatch.createStarted();
-        while (timeWaited.getTime(TimeUnit.MILLISECONDS) < actualTimeoutMillis) {
-            //
-            // We dont have a poll delay as the Height stabalization monitor uses a time delta to see if the height is stable.  That in effect
-            // is a poll interval (which will also work on the cloud)
-            //
-            try {
-                iterations++;
-                boolean isStable = false;
-                switch (stabilityType) {
-                    case HEIGHT:
-                        isStable = isHeightStable(timeout);
-                        break;
-                    case WIDTH:
-                        isStable = isWidthStable(timeout);
-                        break;
-                    case POSITION:
-                        isStable = isPositionStable(timeout);
-                        break;
-                    case SIZE:
-                        isStable = isSizeStable(timeout);
-                        break;
-                    default:
-                        throw new RuntimeException(String.format("Stability type [%s] unknown!", stabilityType.toString()));
-                }
-                if (isStable) {
-                    didStabilzeBeforeTimeout = true;
-                    break;
-                }
-            } catch (Exception ex) {
-                throw new RuntimeException(String.format("Cannot determine if element [%s] is height-stable.", getFriendlyName()), ex);
-            }
+        try {
+            return waitForStable(actualTimeout, Duration.ofMillis(elementDefaultChangeDeltaTimemS), getSeleniumDriver().getStableSampleCount(), stabilityType.properties);
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Cannot determine if element [%s] is %s stable.", getFriendlyName(), stabilityType.toString().toLowerCase()), ex);
         }
-
-        Logger.WriteLine(Logger.LogLevels.TestDebug, "Element %s %s stable after %dms (%d iterations)", getFriendlyName(), (didStabilzeBeforeTimeout) ? "is" : "NOT", timeWaited.getTime(TimeUnit.MILLISECONDS), iterations);
-        return didStabilzeBeforeTimeout;
     }
 
 
@@ -0,0 +1,97 @@
+package TeamControlium.Controlium;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+//
+// List of HTMLElements found using a single ObjectMapping (See SeleniumDriver.findElements).  Lazy; each element's indexed mapping and HTMLElement
+// wrapper is only created the first time that element is accessed, so callers only reading size() or the first element(s) of a large find do not
+// pay for wrapping every match.  Once created a wrapper is kept, so repeated gets of an index return the same HTMLElement.  Indexed mappings are
+// made from a copy of the mapping taken when the list is created; so they hold the find logic that found the elements.
+//
+// Fully mutable.  set() stores the given element against the index; add and remove first wrap every remaining element (materialising the
+// list) and from then on it behaves as a normal ArrayList.
+//
+final class HTMLElementList extends AbstractList<HTMLElement> implements RandomAccess {
+
+    private final SeleniumDriver _seleniumDriver;
+    private final ObjectMapping _mapping;
+    private List<WebElement> _webElements;
+    private HTMLElement[] _wrapped;
+    private ArrayList<HTMLElement> _materialised;
+
+    HTMLElementList(SeleniumDriver seleniumDriver, ObjectMapping mapping, List<WebElement> webElements) {
+        _seleniumDriver = seleniumDriver;
+        _mapping = (mapping == null) ? null : mapping.copy();  // Copied now so later changes to the caller's mapping (IE. ResolveParameters) do not affect the elements found
+        _webElements = (webElements == null) ? new ArrayList<WebElement>() : webElements;
+        _wrapped = new HTMLElement[_webElements.size()];
+    }
+
+    @Override
+    public HTMLElement get(int index) {
+        if (_materialised != null) return _materialised.get(index);
+        HTMLElement element = _wrapped[checkIndex(index)];
+        if (element == null) {
+            // We index xPath but what about the other types...  Maybe we should ONLY support xpath???
+            element = new HTMLElement(_seleniumDriver, _webElements.get(index), _mapping.indexedCopy(index));
+            _wrapped[index] = element;
+        }
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return (_materialised != null) ? _materialised.size() : _wrapped.length;
+    }
+
+    @Override
+    public HTMLElement set(int index, HTMLElement element) {
+        if (_materialised != null) return _materialised.set(index, element);
+        HTMLElement previous = get(index);
+        _wrapped[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, HTMLElement element) {
+        materialise().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public HTMLElement remove(int index) {
+        HTMLElement removed = materialise().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        materialise().clear();
+        modCount++;
+    }
+
+    private ArrayList<HTMLElement> materialise() {
+        if (_materialised == null) {
+            ArrayList<HTMLElement> materialised = new ArrayList<HTMLElement>(_wrapped.length + 1);
+            for (int index = 0; index < _wrapped.length; index++) {
+                materialised.add(get(index));
+            }
+            _materialised = materialised;
+            _wrapped = null;
+            _webElements = null;
+        }
+        return _materialised;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= _wrapped.length) {
+            throw new IndexOutOfBoundsException(String.format("Index [%d] out of range.  List has [%d] elements", index, _wrapped.length));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,48 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+
+import java.util.function.Supplier;
+
+//
+// Level-gated front end to the Utilities Logger for Controlium's hot paths (finds, element interactions).  Logger.WriteLine formats its message
+// (and the caller builds its arguments; boxing, friendly name lookups etc.) whether or not the level is being logged.  Here nothing is built
+// unless the level is on:-
+//
+//   Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Found [%d] elements matching [%s]", count, mapping.getFriendlyName()));
+//
+// Inside tight loops guard with isEnabled instead, as a capturing lambda is itself a (small) allocation:-
+//
+//   if (Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Poll %d", pollNumber);
+//
+public final class Log {
+
+    private Log() {
+    }
+
+    //
+    // True if messages at the given level will be written by the Logger (its logging level being at or below the given level).
+    //
+    public static boolean isEnabled(Logger.LogLevels level) {
+        Logger.LogLevels loggingLevel = Logger.getLoggingLevel();
+        return loggingLevel == null || level.ordinal() >= loggingLevel.ordinal();
+    }
+
+    //
+    // Writes the message at the given level.  Message is only obtained (and so built) if the level is enabled.
+    //
+    public static void writeLine(Logger.LogLevels level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            Logger.WriteLine(level, "%s", message.get());
+        }
+    }
+
+    //
+    // Writes a fixed message at the given level, if the level is enabled.
+    //
+    public static void writeLine(Logger.LogLevels level, String message) {
+        if (isEnabled(level)) {
+            Logger.WriteLine(level, "%s", message);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package TeamControlium.Controlium;
 
 import java.lang.*;
 import TeamControlium.Utilities.Logger;
-import javafx.util.Pair;
 import org.openqa.selenium.By;
 
 public class ObjectMapping {
@@ -10,12 +9,12 @@ public class ObjectMapping {
     public enum ByType { Id, Class, Css, LinkText, Name, Partial, Tag, XPath, Unknown };
 
 
-    private ByType _mappingType;
     private String _findLogicOriginal;  // This is/was the find logic wanting to be used to identify the element
     private String _findLogicActual;    // Actual find logic used.
     private String _friendlyName;       // Human readable name of the element with parameters resolved if any; for easy interpretations etc
     private String _friendlyNameOriginal;       // Original friendly name with parameters unresolved if any
-    private By _seleniumBy;
+    private TextEntryMode _textEntryMode;  // How text is entered into elements found with this mapping; null to use control or driver's
+    private CompiledFindLogic _compiledFindLogic;  // Actual (or if not yet used, original) find logic compiled to type and Selenium By.  Immutable & shared
 
 
     public ObjectMapping(String findLogic)
@@ -36,7 +35,7 @@ public class ObjectMapping {
     }
 
 
-    public ByType getMappingType() { if (_mappingType==null) processFindLogic((_findLogicActual==null)?_findLogicOriginal:_findLogicActual); return _mappingType; }
+    public ByType getMappingType() { CompiledFindLogic compiled = getCompiledFindLogic(); return (compiled==null) ? null : compiled.getType(); }
 
 
 
@@ -80,7 +79,13 @@ public class ObjectMapping {
     }
 
 
-    public By getSeleniumBy() { return processFindLogic((getActualFindLogic())); }
+    public By getSeleniumBy() { getActualFindLogic(); CompiledFindLogic compiled = getCompiledFindLogic(); return (compiled==null) ? null : compiled.getSeleniumBy(); }
+
+    //
+    // Find logic value without any type prefix; IE. for "css=div.hello" returns "div.hello".  Used when the find logic is evaluated in the
+    // browser rather than by Selenium.
+    //
+    String getFindLogicValue() { getActualFindLogic(); CompiledFindLogic compiled = getCompiledFindLogic(); return (compiled==null) ? null : compiled.getValue(); }
 
 
     public String getFriendlyName() {
@@ -94,10 +99,15 @@ public class ObjectMapping {
     }
 
 
+    public TextEntryMode getTextEntryMode() { return _textEntryMode;}
+    public TextEntryMode setTextEntryMode(TextEntryMode textEntryMode) { _textEntryMode = textEntryMode; return getTextEntryMode();}
+
     public ObjectMapping copy() {
         try {
             //
-            ObjectMapping clone = new ObjectMapping(_findLogicActual,_friendlyName);
+            ObjectMapping clone = new ObjectMapping((_findLogicActual==null)?_findLogicOriginal:_findLogicActual,_friendlyName);
+            clone._compiledFindLogic = _compiledFindLogic; // Clone's original find logic is our actual so it can use our compiled find logic
+            clone._textEntryMode = _textEntryMode;
             return clone;
         }
         catch (Exception e) {
@@ -106,6 +116,21 @@ public class ObjectMapping {
         }
     }
 
+    //
+    // Copy of this mapping identifying a single element (index is zero based) of all those the find logic matches.  For xpath the actual find
+    // logic is indexed (IE. "(//div)[3]" for index 2 - Selenium uses 1-based indexing); its compiled form is not cached as it is very unlikely
+    // to be used again.  Other find logic types cannot be indexed so the copy has the same find logic.
+    //
+    ObjectMapping indexedCopy(int index) {
+        CompiledFindLogic compiled = getCompiledFindLogic();
+        ObjectMapping clone = copy();
+        if (clone!=null && compiled!=null && compiled.getType()==ByType.XPath) {
+            clone._findLogicActual = String.format("(%s)[%d]", compiled.getValue(), index+1);
+            clone._compiledFindLogic = CompiledFindLogic.xpath(clone._findLogicActual);
+        }
+        return clone;
+    }
+
     public ObjectMapping ResolveParameters(String... params) {
         String newFindLogic = null;
         String newFriendlyName = null;
@@ -139,63 +164,20 @@ public class ObjectMapping {
         return this;
     }
 
-    private By processFindLogic(String property) {
-        By returnValue;
-        Pair<String,String> findLogicNameValue;
-
-        //
-        // Get the find type and logic
-        //
-        if (property==null) {
+    //
+    // Compiled actual (or, if not yet used, original) find logic.  Compiled find logic is immutable and shared (See CompiledFindLogic.compile) so
+    // is only looked up again if the find logic changes (IE. ResolveParameters).
+    //
+    private CompiledFindLogic getCompiledFindLogic() {
+        String findLogic = (_findLogicActual==null) ? _findLogicOriginal : _findLogicActual;
+        if (findLogic==null) {
             return null;
-        } else {
-            if (property.contains("=")) {
-                String[] nameValue = property.split("=", 2);
-                findLogicNameValue = new Pair<String, String>(nameValue[0], nameValue[1]);
-            } else {
-                // Default to xpath....
-                findLogicNameValue = new Pair<String, String>("xpath", property);
-            }
-
-            switch (findLogicNameValue.getKey()) {
-                case "id":
-                    returnValue = By.id(findLogicNameValue.getValue());
-                    _mappingType = ByType.Id;
-                    break;
-                case "class":
-                    returnValue = By.className(findLogicNameValue.getValue());
-                    _mappingType = ByType.Class;
-                    break;
-                case "css":
-                    returnValue = By.cssSelector(findLogicNameValue.getValue());
-                    _mappingType = ByType.Css;
-                    break;
-                case "linktext":
-                    returnValue = By.linkText(findLogicNameValue.getValue());
-                    _mappingType = ByType.LinkText;
-                    break;
-                case "name":
-                    returnValue = By.name(findLogicNameValue.getValue());
-                    _mappingType = ByType.Name;
-                    break;
-                case "partial":
-                    returnValue = By.partialLinkText(findLogicNameValue.getValue());
-                    _mappingType = ByType.Partial;
-                    break;
-                case "tag":
-                    returnValue = By.tagName(findLogicNameValue.getValue());
-                    _mappingType = ByType.Tag;
-                    break;
-                case "xpath":
-                    returnValue = By.xpath(findLogicNameValue.getValue());
-                    _mappingType = ByType.XPath;
-                    break;
-                default:
-                    returnValue = By.xpath(property);
-                    _mappingType = ByType.XPath;
-                    break;
-            }
-            return returnValue;
         }
+        CompiledFindLogic compiled = _compiledFindLogic;
+        if (compiled==null || !compiled.getFindLogic().equals(findLogic)) {
+            compiled = CompiledFindLogic.compile(findLogic);
+            _compiledFindLogic = compiled;
+        }
+        return compiled;
     }
 }
@@ -0,0 +1,69 @@
+package TeamControlium.Controlium;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+//
+// Decides how long a find loop waits between polls.  Strategies are stateless (they are given the poll number and time waited so far) so a single
+// instance can be shared by any number of finds and threads.
+//
+// Built-in strategies:-
+//   fixed       - Same interval every poll.  This is what the find loop has always done using the poll interval.
+//   exponential - Starts at an initial interval and multiplies it each poll, up to a cap.
+//   jittered    - Wraps another strategy, randomly varying each interval by up to a fraction of it (stops parallel tests polling in lock-step).
+//   fastFirst   - A number of quick polls (for elements that are nearly there) then drops back to a slower interval.
+//
+public interface PollStrategy {
+
+    //
+    // Returns time (in milliseconds) to wait before the next poll.  pollNumber is zero based; 0 being the wait after the first (immediate) find.
+    //
+    long getPollIntervalMillis(int pollNumber, long elapsedMillis);
+
+    static PollStrategy fixed(Duration interval) {
+        final long intervalMillis = validate(interval, "interval");
+        return (pollNumber, elapsedMillis) -> intervalMillis;
+    }
+
+    static PollStrategy exponential(Duration initialInterval, double multiplier, Duration maximumInterval) {
+        final long initialMillis = validate(initialInterval, "initialInterval");
+        final long maximumMillis = validate(maximumInterval, "maximumInterval");
+        if (multiplier < 1.0) {
+            throw new RuntimeException(String.format("Exponential poll strategy multiplier [%f] cannot be less than 1", multiplier));
+        }
+        return (pollNumber, elapsedMillis) -> {
+            double interval = initialMillis * Math.pow(multiplier, pollNumber);
+            return (interval >= maximumMillis) ? maximumMillis : (long) interval;
+        };
+    }
+
+    static PollStrategy jittered(PollStrategy strategy, double jitterFraction) {
+        if (strategy == null) {
+            throw new RuntimeException("Jittered poll strategy must wrap another strategy.  strategy is null!");
+        }
+        if (jitterFraction < 0.0 || jitterFraction > 1.0) {
+            throw new RuntimeException(String.format("Jittered poll strategy jitter fraction [%f] must be between 0 and 1", jitterFraction));
+        }
+        return (pollNumber, elapsedMillis) -> {
+            long interval = strategy.getPollIntervalMillis(pollNumber, elapsedMillis);
+            long jitter = (long) (interval * jitterFraction);
+            return (jitter == 0) ? interval : Math.max(0, interval + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1));
+        };
+    }
+
+    static PollStrategy fastFirst(int fastPolls, Duration fastInterval, Duration slowInterval) {
+        final long fastMillis = validate(fastInterval, "fastInterval");
+        final long slowMillis = validate(slowInterval, "slowInterval");
+        if (fastPolls < 0) {
+            throw new RuntimeException(String.format("Fast-first poll strategy number of fast polls [%d] cannot be negative", fastPolls));
+        }
+        return (pollNumber, elapsedMillis) -> (pollNumber < fastPolls) ? fastMillis : slowMillis;
+    }
+
+    private static long validate(Duration interval, String name) {
+        if (interval == null || interval.isNegative()) {
+            throw new RuntimeException(String.format("Poll strategy %s [%s] must be zero or more", name, (interval == null) ? "null" : interval.toString()));
+        }
+        return interval.toMillis();
+    }
+}
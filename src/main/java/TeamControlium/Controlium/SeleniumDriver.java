@@ -6,17 +6,28 @@ import TeamControlium.Utilities.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.time.StopWatch;
+import com.google.common.collect.ImmutableList;
 import org.junit.jupiter.api.Assertions;
 
 import java.io.*;
 import java.net.ConnectException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -26,17 +37,11 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverLogLevel;
 import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.ie.InternetExplorerOptions;
-import org.w3c.dom.NodeList;
-
-import javax.swing.text.html.HTMLDocument;
-import javax.swing.text.html.HTMLEditorKit;
-import javax.swing.text.html.parser.ParserDelegator;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
 
 public class SeleniumDriver {
     // CONSTANT FIELDS
@@ -51,15 +56,27 @@ public class SeleniumDriver {
     private final String[] ConfigConnectionTimeout = { "Selenium", "ConnectionTimeout" };     // Timeout when waiting for a response from the Selenium Server (when remote)
     private final String[] SeleniumDebugMode = { "Selenium", "DebugMode" };                   // If yes, Selenium is started in debug mode...
     private final String[] SeleniumLogFilename = { "Selenium", "LogFile" };                   // Path and file for Selenium Log file.  Default is the console window
+    private final String[] ConfigEventDrivenFind = { "Selenium", "EventDrivenFind" };         // If yes, finds wait in the browser (MutationObserver) for the element rather than polling
+    private final String[] ConfigSharedDriverService = { "Selenium", "SharedDriverService" }; // If yes, local drivers open a session on a driver service shared by the JVM rather than starting their own
 
     private WebDriver webDriver;
 
     private Exception _lastException=null;
     private Duration _findTimeout = null;
     private Duration _pollInterval = null;
+    private PollStrategy _pollStrategy = null;
+    private int _streamChunkSize = defaultStreamChunkSize;
+    private int _stableFrameCount = defaultStableFrameCount;
+    private int _stableSampleCount = defaultStableSampleCount;
+    private Duration _snapshotCacheLifetime = Duration.ZERO;
+    private TextEntryMode _textEntryMode = TextEntryMode.KEYSTROKES;
     private Duration _pageLoadTimeout = null;
     private static final long defaultTimeout = 60000; // 1 Minute
     private static final long defaultPollInterval = 500; // 500mS
+    private static final int defaultStreamChunkSize = 25; // Elements fetched from browser per round trip when streaming elements
+    private static final int defaultStableFrameCount = 5; // Animation frames element must not move for to be position stable (in-browser detection)
+    private static final int defaultStableSampleCount = 2; // Consecutive identical samples for an element to be stable (sampled detection)
+    private static final long scriptTimeoutMarginMillis = 5000; // Async script timeout allowance over and above the time we will wait in the browser
     private Browsers _browser=null;
     private Devices _device=null;
     private String seleniumHost;
@@ -67,6 +84,11 @@ public class SeleniumDriver {
     private String seleniumServerFolder=null;
     private boolean seleniumDebugMode=false;
     private String seleniumLogFilename=null;
+    private boolean _eventDrivenFind=false;
+    private boolean _configuredEventDrivenFind=false; // Event driven find as set by test data when instantiated; restored by resetForReuse
+    private final Set<String> _visitedOrigins = new LinkedHashSet<String>(); // Origins (scheme, host and port) browsed to; cleared by resetForReuse
+    private boolean _sharedDriverService=false;
+    private long _scriptTimeoutMillis=-1; // Last async script timeout given to Selenium.  -1 if not yet set
 
     public SeleniumDriver(String seleniumHost,String device,String browser) {
         commonConstructs(false,seleniumHost,device,browser);
@@ -95,9 +117,7 @@ public class SeleniumDriver {
 
     private void commonConstructs(boolean killFirst, String seleniumHost,String device,String browser) {
         // Initialise defaults
-        setFindTimeout(Duration.ofMillis(defaultTimeout));
-        setPollInterval(Duration.ofMillis(defaultPollInterval));
-        setPageLoadTimeout(Duration.ofMillis(defaultTimeout));
+        setDefaultSettings();
 
         // Selenium Parameters
         try {
@@ -127,14 +147,49 @@ public class SeleniumDriver {
         }
         Logger.WriteLine(Logger.LogLevels.TestInformation, "Selenium Log filename: [%s]",seleniumLogFilename==null?"stdio (console)":seleniumLogFilename);
 
-        Browsers.SetTestBrowser(browser);
-        Devices.SetTestDevice(device);
+        try {
+            setEventDrivenFind(TeamControlium.Utilities.General.IsValueTrue(TestData.getItem(String.class, ConfigEventDrivenFind[0], ConfigEventDrivenFind[1])));
+        }
+        catch (Exception e){
+            Logger.WriteLine(Logger.LogLevels.TestDebug, "Event driven find not set in TestData (%s.%s).  Defaulting to off (polling find)",ConfigEventDrivenFind[0], ConfigEventDrivenFind[1]);
+            setEventDrivenFind(false);
+        }
+        _configuredEventDrivenFind = getEventDrivenFind();
+        Logger.WriteLine(Logger.LogLevels.TestInformation, "Event driven find: [%s]",getEventDrivenFind()?"on":"off");
+
+        try {
+            _sharedDriverService = TeamControlium.Utilities.General.IsValueTrue(TestData.getItem(String.class, ConfigSharedDriverService[0], ConfigSharedDriverService[1]));
+        }
+        catch (Exception e){
+            Logger.WriteLine(Logger.LogLevels.TestDebug, "Shared driver service not set in TestData (%s.%s).  Defaulting to off (driver service per driver)",ConfigSharedDriverService[0], ConfigSharedDriverService[1]);
+            _sharedDriverService=false;
+        }
+        Logger.WriteLine(Logger.LogLevels.TestInformation, "Shared driver service: [%s]",getSharedDriverService()?"on":"off");
+
+        setBrowser(new Browsers(browser));
+        setDevice(new Devices(device));
 
         setSeleniumHost(seleniumHost);
 
         startOrConnectToSeleniumServer(killFirst);
     }
 
+    //
+    // Sets the per-driver settings a test may change to their defaults.  Event driven find is set to as it was configured when instantiated.
+    //
+    private void setDefaultSettings() {
+        setFindTimeout(Duration.ofMillis(defaultTimeout));
+        setPollInterval(Duration.ofMillis(defaultPollInterval));
+        setPageLoadTimeout(Duration.ofMillis(defaultTimeout));
+        setPollStrategy(null);
+        setStreamChunkSize(defaultStreamChunkSize);
+        setStableFrameCount(defaultStableFrameCount);
+        setStableSampleCount(defaultStableSampleCount);
+        setSnapshotCacheLifetime(Duration.ZERO);
+        setTextEntryMode(TextEntryMode.KEYSTROKES);
+        setEventDrivenFind(_configuredEventDrivenFind);
+    }
+
 
     // PROPERTIES
     public Exception getLastException() { return _lastException; }
@@ -142,6 +197,76 @@ public class SeleniumDriver {
     public Duration getElementFindTimeout() { return _findTimeout;}
     public Duration setPollInterval(Duration pollInterval) { _pollInterval = pollInterval; return getPollInterval();}
     public Duration getPollInterval() { return _pollInterval;}
+
+    //
+    // Strategy used by finds to decide how long to wait between polls.  If none has been set (or it is set to null) finds poll at the fixed poll interval.
+    // Strategy can also be given per find call (See findElement/findElementOrNull overloads taking a PollStrategy).
+    //
+    public PollStrategy setPollStrategy(PollStrategy pollStrategy) { _pollStrategy = pollStrategy; return getPollStrategy();}
+    public PollStrategy getPollStrategy() { return (_pollStrategy==null) ? PollStrategy.fixed(getPollInterval()) : _pollStrategy;}
+
+    //
+    // Number of elements fetched from the browser per round trip by streamElements.
+    //
+    public int setStreamChunkSize(int streamChunkSize) { _streamChunkSize = streamChunkSize; return getStreamChunkSize();}
+    public int getStreamChunkSize() { return _streamChunkSize;}
+
+    //
+    // Number of consecutive animation frames an element's position and size must not change for it to be stable, when stability is detected in
+    // the browser (See waitForRectStable).
+    //
+    public int setStableFrameCount(int stableFrameCount) {
+        if (stableFrameCount < 1) {
+            throw new RuntimeException(String.format("Stable frame count [%d] must be 1 or more", stableFrameCount));
+        }
+        _stableFrameCount = stableFrameCount;
+        return getStableFrameCount();
+    }
+    public int getStableFrameCount() { return _stableFrameCount;}
+
+    //
+    // Number of consecutive identical samples of an element's properties needed for it to be stable, when stability is sampled (See
+    // HTMLElement.waitForStable).  2 (the default) being first and second samples the same.
+    //
+    public int setStableSampleCount(int stableSampleCount) {
+        if (stableSampleCount < 2) {
+            throw new RuntimeException(String.format("Stable sample count [%d] must be 2 or more", stableSampleCount));
+        }
+        _stableSampleCount = stableSampleCount;
+        return getStableSampleCount();
+    }
+    public int getStableSampleCount() { return _stableSampleCount;}
+
+    //
+    // How long an element's last snapshot (See HTMLElement.snapshot) may be used to answer its getters (isVisible, isElementEnabled, getSize,
+    // getAttribute and hasAttribute) rather than asking the browser again.  Zero (the default) never uses it, so getters always see the page as
+    // it is now.  Snapshots are discarded when the element is clicked, cleared or has text entered.
+    //
+    public Duration setSnapshotCacheLifetime(Duration snapshotCacheLifetime) { _snapshotCacheLifetime = (snapshotCacheLifetime==null) ? Duration.ZERO : snapshotCacheLifetime; return getSnapshotCacheLifetime();}
+    public Duration getSnapshotCacheLifetime() { return _snapshotCacheLifetime;}
+
+    //
+    // How text is entered into elements that do not have their own TextEntryMode (See HTMLElement.getTextEntryMode).  KEYSTROKES by default.
+    //
+    public TextEntryMode setTextEntryMode(TextEntryMode textEntryMode) { _textEntryMode = (textEntryMode==null) ? TextEntryMode.KEYSTROKES : textEntryMode; return getTextEntryMode();}
+    public TextEntryMode getTextEntryMode() { return _textEntryMode;}
+
+    //
+    // When event driven find is on, finds that need to wait for an element block in a single async script call in the browser; a MutationObserver
+    // re-evaluates the find logic whenever the DOM changes and returns as soon as it matches (or the find timeout is reached).  When off (default)
+    // the find is polled from here every poll interval.  If the browser cannot run the event driven find we fall back to polling.
+    //
+    public boolean setEventDrivenFind(boolean eventDrivenFind) { _eventDrivenFind = eventDrivenFind; return getEventDrivenFind();}
+    public boolean getEventDrivenFind() { return _eventDrivenFind;}
+
+    //
+    // True if this (local) driver's browser session was opened on a driver service shared by every driver in the JVM using one (See
+    // SharedDriverServices), rather than on a driver service started just for it.  Saves starting (and stopping) a driver server process per driver.
+    // Set by test data option SharedDriverService in category Selenium, when driver is instantiated.  Only Chrome shares driver services; the IE
+    // and (legacy) Edge driver servers only run one session at a time.
+    //
+    public boolean getSharedDriverService() { return _sharedDriverService;}
+
     public Duration setPageLoadTimeout(Duration pageLoadTimeout) {
         if (webDriver!=null) {
             webDriver.manage().timeouts().pageLoadTimeout(pageLoadTimeout.toMillis(), TimeUnit.MILLISECONDS);
@@ -155,8 +280,8 @@ public class SeleniumDriver {
     public Browsers getBrowser() { return _browser; }
     public Browsers setBrowser(Browsers browser) { _browser=browser; return getBrowser();}
 
-    public Browsers getDevice() { return _browser; }
-    public Browsers setDevice(Devices device) { _device=device; return getDevice();}
+    public Devices getDevice() { return _device; }
+    public Devices setDevice(Devices device) { _device=device; return getDevice();}
 
     public void setIFrame(HTMLElement htmlElement) {
         WebElement webElement = ((WebElement)htmlElement.getUnderlyingWebElement());
@@ -176,59 +301,72 @@ public class SeleniumDriver {
     }
 
 
-    public HTMLElement findElement(ObjectMapping objectMapping) { return findElement(null,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), false);}
-    public HTMLElement findElement(ObjectMapping objectMapping,boolean waitUntilStable) { return findElement(null,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout) { return findElement(null,objectMapping, false, false, timeout, getPollInterval(), false);}
-    public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElement(null,objectMapping, false, false, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping) { return findElement(null,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), false);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean waitUntilStable) { return findElement(null,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout) { return findElement(null,objectMapping, false, false, timeout, getPollStrategy(), false);}
+    public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElement(null,objectMapping, false, false, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout,Duration pollInterval) { return findElement(null,objectMapping, false, false, timeout, pollInterval, false);}
     public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout,Duration pollInterval,boolean waitUntilStable) { return findElement(null,objectMapping, false, false, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElement(ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElement(null,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), false);}
-    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElement(null,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), false);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,Duration pollInterval) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, false);}
     public HTMLElement findElement(ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, Duration pollInterval, boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping) { return findElement(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), false);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout) { return findElement(parentElement,objectMapping, false, false, timeout, getPollInterval(), false);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, false, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping) { return findElement(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), false);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout) { return findElement(parentElement,objectMapping, false, false, timeout, getPollStrategy(), false);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, false, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,Duration pollInterval) { return findElement(parentElement,objectMapping, false, false, timeout, pollInterval, false);}
     public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,Duration pollInterval,boolean waitUntilStable) { return findElement(parentElement,objectMapping, false, false, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), false);}
-    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), false);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,Duration pollInterval) { return findElement(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, false);}
-
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping) { return findElementOrNull(null,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), false);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout) { return findElementOrNull(null,objectMapping, false, false, timeout, getPollInterval(), false);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, false, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElement(ObjectMapping objectMapping,PollStrategy pollStrategy) { return findElement(null,objectMapping, false, false, getElementFindTimeout(), pollStrategy, false);}
+    public HTMLElement findElement(ObjectMapping objectMapping,Duration timeout,PollStrategy pollStrategy) { return findElement(null,objectMapping, false, false, timeout, pollStrategy, false);}
+    public HTMLElement findElement(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,PollStrategy pollStrategy,boolean waitUntilStable) { return findElement(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollStrategy, waitUntilStable);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,PollStrategy pollStrategy) { return findElement(parentElement,objectMapping, false, false, getElementFindTimeout(), pollStrategy, false);}
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,PollStrategy pollStrategy) { return findElement(parentElement,objectMapping, false, false, timeout, pollStrategy, false);}
+
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping) { return findElementOrNull(null,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout) { return findElementOrNull(null,objectMapping, false, false, timeout, getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, false, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout,Duration pollInterval) { return findElementOrNull(null,objectMapping, false, false, timeout, pollInterval, false);}
     public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout,Duration pollInterval,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, false, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), false);}
-    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElementOrNull(null,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,Duration pollInterval) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, false);}
     public HTMLElement findElementOrNull(ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, Duration pollInterval, boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping) { return findElementOrNull(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), false);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, getPollInterval(), false);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping) { return findElementOrNull(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, false, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean waitUntilSingle, boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,Duration pollInterval) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, pollInterval, false);}
     public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,Duration pollInterval,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, pollInterval, waitUntilStable);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollInterval(), waitUntilStable);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), false);}
-    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollInterval(), waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, getElementFindTimeout(), getPollStrategy(), waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), false);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,boolean waitUntilStable) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, getPollStrategy(), waitUntilStable);}
     public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,Duration pollInterval) { return findElementOrNull(parentElement,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollInterval, false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,PollStrategy pollStrategy) { return findElementOrNull(null,objectMapping, false, false, getElementFindTimeout(), pollStrategy, false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,Duration timeout,PollStrategy pollStrategy) { return findElementOrNull(null,objectMapping, false, false, timeout, pollStrategy, false);}
+    public HTMLElement findElementOrNull(ObjectMapping objectMapping,boolean allowMultipleMatches,boolean waitUntilSingle,Duration timeout,PollStrategy pollStrategy,boolean waitUntilStable) { return findElementOrNull(null,objectMapping, allowMultipleMatches, waitUntilSingle, timeout, pollStrategy, waitUntilStable);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,PollStrategy pollStrategy) { return findElementOrNull(parentElement,objectMapping, false, false, getElementFindTimeout(), pollStrategy, false);}
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping,Duration timeout,PollStrategy pollStrategy) { return findElementOrNull(parentElement,objectMapping, false, false, timeout, pollStrategy, false);}
 
 
 
     public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, Duration pollInterval, boolean waitUntilStable) {
+        return findElementOrNull(parentElement,objectMapping,allowMultipleMatches,waitUntilSingle,timeout,PollStrategy.fixed(pollInterval),waitUntilStable);
+    }
+    public HTMLElement findElementOrNull(HTMLElement parentElement,ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, PollStrategy pollStrategy, boolean waitUntilStable) {
         try {
-            return findElement(parentElement,objectMapping,allowMultipleMatches,waitUntilSingle,timeout,pollInterval,waitUntilStable);
+            return findElement(parentElement,objectMapping,allowMultipleMatches,waitUntilSingle,timeout,pollStrategy,waitUntilStable);
         }
         catch (Exception e) {
             _lastException = e;
@@ -236,6 +374,9 @@ public class SeleniumDriver {
         }
     }
     public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, Duration pollInterval, boolean waitUntilStable) {
+        return findElement(parentElement,objectMapping,allowMultipleMatches,waitUntilSingle,timeout,PollStrategy.fixed(pollInterval),waitUntilStable);
+    }
+    public HTMLElement findElement(HTMLElement parentElement,ObjectMapping objectMapping, boolean allowMultipleMatches,boolean waitUntilSingle, Duration timeout, PollStrategy pollStrategy, boolean waitUntilStable) {
         List<HTMLElement> clauseResults = null;
         boolean multiLogShown=false;
         boolean showMultiMatches=true;
@@ -245,10 +386,11 @@ public class SeleniumDriver {
         // FindElements so that we can control if ONLY a single match is allowed (Selenium FindElement allows multiple matches silently - see By class implementation) and extra debug logging.
         //
         long totalTimeoutMillis = timeout.toMillis();
-        long pollIntervalMillis = pollInterval.toMillis();
+        if (pollStrategy==null) pollStrategy = getPollStrategy();
 
-        Logger.WriteLine(Logger.LogLevels.TestDebug, "Timeout - %s", durationFormatted(timeout));
+        Log.writeLine(Logger.LogLevels.TestDebug, () -> String.format("Timeout - %s", durationFormatted(timeout)));
 
+        FindStatistics.FindRecord findRecord = FindStatistics.startFind();
         StopWatch timer = StopWatch.createStarted();
         while (true) {
 
@@ -265,8 +407,9 @@ public class SeleniumDriver {
                                             waitUntilSingle,                                 // If true and allowMultipleMatches true, will wait until timeout or a SINGLE match is found
                                             (clauseResults==null || clauseResults.size()<2), // Controls logging of multiple matches.  Only show once IF we are search first time OR have searched with only a single result
                                             totalTimeoutMillis,                              // Search timeout in milliseconds
-                                            pollIntervalMillis,                              // Polling ionterval in milliseconds
-                                            timer);                                          // Find stopwatch timing whole finding
+                                            pollStrategy,                                    // Decides interval between polls
+                                            timer,                                           // Find stopwatch timing whole finding
+                                            findRecord);                                     // Find statistics (null if not recording)
 
             if (clauseResults.size()==0) {
                 String errorText = String.format("Time reached and found 0 matching elements using ([%s] - %s) from [%s] (Waited upto %dmS).",
@@ -275,6 +418,7 @@ public class SeleniumDriver {
                         (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                         timer.getTime());
                 Logger.WriteLine(Logger.LogLevels.Error, errorText);
+                FindStatistics.record(objectMapping, findRecord, timer.getTime(), true);
                 throw new RuntimeException(errorText);
 
             }
@@ -286,12 +430,13 @@ public class SeleniumDriver {
                         (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                         timer.getTime());
                 Logger.WriteLine(Logger.LogLevels.Error, errorText);
+                FindStatistics.record(objectMapping, findRecord, timer.getTime(), true);
                 throw new RuntimeException(errorText);
             }
 
             // At this point we have a single match OR multiple matches
             if (showMultiMatches && !waitUntilSingle) {
-                Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches).",
+                if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches).",
                         (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                         objectMapping.getActualFindLogic(),
                         objectMapping.getFriendlyName(),
@@ -301,8 +446,9 @@ public class SeleniumDriver {
             }
 
             if (waitUntilStable) {
-                if (clauseResults.get(0).isPositionStable()) {
-                    Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches.  Element 0 is stable, so returning...).",
+                Boolean isStableInBrowser = clauseResults.get(0).isPositionStableInBrowser(Duration.ofMillis(Math.max(0, totalTimeoutMillis - timer.getTime())));
+                if ((isStableInBrowser==null) ? clauseResults.get(0).isPositionStable() : isStableInBrowser) {
+                    if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches.  Element 0 is stable, so returning...).",
                             (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                             objectMapping.getActualFindLogic(),
                             objectMapping.getFriendlyName(),
@@ -317,6 +463,7 @@ public class SeleniumDriver {
                                 objectMapping.getFriendlyName(),
                                 clauseResults.size(),
                                 (allowMultipleMatches) ? "A" : "Not A");
+                        FindStatistics.record(objectMapping, findRecord, timer.getTime(), true);
                         throw new RuntimeException(String.format("From [%s], find [%s (%s)] returned %d matches (%sllowing multiple matches). Element NOT stable after timeout reached ([%dmS]).",
                                 (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                                 objectMapping.getActualFindLogic(),
@@ -325,7 +472,7 @@ public class SeleniumDriver {
                                 (allowMultipleMatches) ? "A" : "Not A",
                                 timer.getTime()));
                     }
-                    Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches).  Element 0 is NOT stable and we must wait until stable...",
+                    if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "From [%s], find [%s (%s)] returned %d matches (%s multiple matches).  Element 0 is NOT stable and we must wait until stable...",
                             (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
                             objectMapping.getActualFindLogic(),
                             objectMapping.getFriendlyName(),
@@ -336,26 +483,180 @@ public class SeleniumDriver {
                 break;
             }
         }
+        FindStatistics.record(objectMapping, findRecord, timer.getTime(), false);
         return clauseResults.get(0);
     }
 
+    //
+    // Current generation of the page's DOM (See DomGeneration).
+    //
+    public DomGeneration getDomGeneration() { return checkConnected(new ArrayList<Object>(), new boolean[0]); }
+
+    //
+    // Reads the DOM generation and, in the same call, whether each element is still in the page; connected[index] being set for webElements[index].
+    // Throws if Selenium itself knows an element is stale (StaleElementReferenceException).
+    //
+    DomGeneration checkConnected(List<Object> webElements, boolean[] connected) {
+        List<?> result = executeJavaScript(List.class, BrowserScripts.DOM_GENERATION, webElements);
+        List<?> elementsConnected = (List<?>) result.get(2);
+        for (int index = 0; index < connected.length && index < elementsConnected.size(); index++) {
+            connected[index] = Boolean.TRUE.equals(elementsConnected.get(index));
+        }
+        return new DomGeneration((String) result.get(0), ((Number) result.get(1)).longValue());
+    }
+
+    //
+    // Form filler for fields found from the DOM top level (or, given a parent element, from it).  See FormFiller.
+    //
+    public FormFiller formFiller() { return formFiller(null);}
+    public FormFiller formFiller(HTMLElement parentElement) { return new FormFiller(this, parentElement);}
+
+    //
+    // Fills every field (mapping to value) in a single find and a single script; see FormFiller.
+    //
+    public void fillForm(Map<ObjectMapping,String> fields) { formFiller().addFields(fields).fill();}
+
+    //
+    // Finds elements for any number of mappings at once.  All find logic is evaluated in the browser by a single script per poll (or a single
+    // async script if event driven find is on) so N mappings cost one round trip rather than N.  Semantics are the same as findElement for each
+    // mapping; we wait (upto timeout) until every mapping matches and then, unless allowing multiple matches, each must match a single element.
+    // Returned map is in the order mappings were given.
+    //
+    public Map<ObjectMapping,List<HTMLElement>> findElements(HTMLElement parentElement, ObjectMapping... mappings) { return findElements(parentElement, false, getElementFindTimeout(), getPollStrategy(), mappings);}
+    public Map<ObjectMapping,List<HTMLElement>> findElements(HTMLElement parentElement, Duration timeout, ObjectMapping... mappings) { return findElements(parentElement, false, timeout, getPollStrategy(), mappings);}
+    public Map<ObjectMapping,List<HTMLElement>> findElements(HTMLElement parentElement, boolean allowMultipleMatches, Duration timeout, ObjectMapping... mappings) { return findElements(parentElement, allowMultipleMatches, timeout, getPollStrategy(), mappings);}
+    public Map<ObjectMapping,List<HTMLElement>> findElements(HTMLElement parentElement, boolean allowMultipleMatches, Duration timeout, PollStrategy pollStrategy, ObjectMapping... mappings) {
+        Map<ObjectMapping,List<HTMLElement>> returnElements = new LinkedHashMap<ObjectMapping,List<HTMLElement>>();
+        List<List<WebElement>> foundElements = null;
+
+        if (mappings==null || mappings.length==0) return returnElements;
+        for (ObjectMapping mapping : mappings) {
+            if (mapping==null) {
+                Logger.WriteLine(Logger.LogLevels.Error,"ObjectMapping = null!");
+                throw new RuntimeException("SeleniumDriver.FindElements called with a mapping null!");
+            }
+        }
+        List<ObjectMapping> mappingList = Arrays.asList(mappings);
+        long totalTimeoutMillis = timeout.toMillis();
+        if (pollStrategy==null) pollStrategy = getPollStrategy();
+
+        Log.writeLine(Logger.LogLevels.TestDebug, () -> String.format("Finding %d mappings in single script.  Timeout - %s", mappings.length, durationFormatted(timeout)));
+
+        StopWatch timer = StopWatch.createStarted();
+        if (getEventDrivenFind()) {
+            foundElements = waitForElementsInBrowser(parentElement, mappingList, false, totalTimeoutMillis);
+        }
+        int pollNumber = (foundElements==null) ? 0 : 1;
+        while (foundElements==null) {
+            List<List<WebElement>> pollResults;
+            try {
+                pollResults = toWebElementLists(executeJavaScript(List.class, BrowserScripts.FIND_ELEMENTS, (parentElement == null) ? null : parentElement.getUnderlyingWebElement(), getBrowserLocators(mappingList)));
+            }
+            catch (Exception e) {
+                Logger.WriteLine(Logger.LogLevels.Error, "Error finding elements for %d mappings starting [%s] ([%s)]: %s", mappings.length, mappings[0].getActualFindLogic(), mappings[0].getFriendlyName(), e.toString());
+                throw new RuntimeException(String.format("Error finding elements for %d mappings starting [%s] ([%s)].  Is all find logic valid?", mappings.length, mappings[0].getActualFindLogic(), mappings[0].getFriendlyName()), e);
+            }
+            boolean allMatched = true;
+            for (List<WebElement> matches : pollResults) {
+                if (matches.size()==0) allMatched=false;
+            }
+            long elapsedMillis = timer.getTime();
+            if (allMatched || elapsedMillis >= totalTimeoutMillis) {
+                foundElements = pollResults;
+                pollNumber++;
+            } else {
+                try {
+                    Thread.sleep(Math.max(0, Math.min(pollStrategy.getPollIntervalMillis(pollNumber++, elapsedMillis), totalTimeoutMillis - elapsedMillis)));
+                } catch (Exception e) {
+                    Logger.WriteLine(Logger.LogLevels.Error, "Thread.sleep threw an exception after %s so aborting", durationFormatted(timer.getTime()));
+                    throw new RuntimeException(String.format("Exception thrown while thread sleeping during Find Elements (for %d mappings) poll interval!", mappings.length));
+                }
+            }
+        }
+
+        //
+        // Batch completes as a whole, so every mapping is recorded with the batch's polls and time to match
+        //
+        if (FindStatistics.getEnabled()) {
+            long findMillis = timer.getTime();
+            for (int index = 0; index < mappings.length; index++) {
+                int matchCount = foundElements.get(index).size();
+                FindStatistics.record(mappings[index], pollNumber, (matchCount==0) ? -1 : findMillis, findMillis, matchCount==0 || (matchCount > 1 && !allowMultipleMatches));
+            }
+        }
+
+        for (int index = 0; index < mappings.length; index++) {
+            ObjectMapping mapping = mappings[index];
+            List<WebElement> matches = foundElements.get(index);
+            if (matches.size()==0) {
+                String errorText = String.format("Time reached and found 0 matching elements using ([%s] - %s) from [%s] (Waited upto %dmS).",
+                        mapping.getActualFindLogic(),
+                        mapping.getFriendlyName(),
+                        (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
+                        timer.getTime());
+                Logger.WriteLine(Logger.LogLevels.Error, errorText);
+                throw new RuntimeException(errorText);
+            }
+            if (matches.size() > 1 && !allowMultipleMatches) {
+                String errorText = String.format("Found %d matching elements using [%s] ([%s]) from [%s]. Not allowing mutiple matches and timeout reached after [%dmS]",
+                        matches.size(),
+                        mapping.getActualFindLogic(),
+                        mapping.getFriendlyName(),
+                        (parentElement == null) ? "DOM Top Level" : parentElement.getMappingDetails().getFriendlyName(),
+                        timer.getTime());
+                Logger.WriteLine(Logger.LogLevels.Error, errorText);
+                throw new RuntimeException(errorText);
+            }
+            returnElements.put(mapping, wrapFoundElements(parentElement, mapping, matches));
+        }
+        return returnElements;
+    }
+
+    //
+    // Resolves a chain of mappings in a single script call; each mapping found from the element the one before it found, the first from parentElement
+    // (or the DOM top level if null).  There is no waiting.  Returns the elements of the leading levels that matched a single element, stopping at
+    // the first level that matched none or several; the caller finds from there level by level, so getting the usual waits and errors.  Returns an
+    // empty list if the chain cannot be resolved in the browser at all.
+    //
+    List<HTMLElement> findChain(HTMLElement parentElement, List<ObjectMapping> mappings) {
+        List<HTMLElement> chainElements = new ArrayList<HTMLElement>(mappings.size());
+        StopWatch timer = StopWatch.createStarted();
+        List<List<WebElement>> levelMatches;
+        try {
+            levelMatches = toWebElementLists(executeJavaScript(List.class, BrowserScripts.FIND_CHAIN, (parentElement == null) ? null : parentElement.getUnderlyingWebElement(), getBrowserLocators(mappings)));
+        }
+        catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Unable to resolve chain of %d mappings in single script (%s)", mappings.size(), e.getMessage()));
+            return chainElements;
+        }
+
+        HTMLElement levelParent = parentElement;
+        for (int level = 0; level < levelMatches.size() && levelMatches.get(level).size() == 1; level++) {
+            HTMLElement element = wrapFoundElements(levelParent, mappings.get(level), levelMatches.get(level)).get(0);
+            if (FindStatistics.getEnabled()) FindStatistics.record(mappings.get(level), 1, timer.getTime(), timer.getTime(), false);
+            chainElements.add(element);
+            levelParent = element;
+        }
+        if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Resolved %d of %d chained mappings in single script (%dmS)", chainElements.size(), mappings.size(), timer.getTime());
+        return chainElements;
+    }
+
     public List<HTMLElement> findElements(HTMLElement parentElement, ObjectMapping mapping) {
 
         List<WebElement> foundElements=null;
-        List<HTMLElement> returnElements = new ArrayList<HTMLElement>();
 
         if (mapping==null) {
             Logger.WriteLine(Logger.LogLevels.Error,"ObjectMapping = null!");
             throw new RuntimeException("SeleniumDriver.FindElements called with mapping null!");
         }
 
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug,"ObjectMapping = [%s] (%s)",mapping.getOriginalFindLogic(),mapping.getFriendlyName());
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("ObjectMapping = [%s] (%s)", mapping.getOriginalFindLogic(),mapping.getFriendlyName()));
 
         By seleniumFindBy = mapping.getSeleniumBy();
 
 
         try {
-            Logger.WriteLine(Logger.LogLevels.FrameworkDebug,"Calling Selenium WebDriver findElements with By = [%s]",seleniumFindBy.toString());
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Calling Selenium WebDriver findElements with By = [%s]", seleniumFindBy.toString()));
             if (parentElement==null) {
                 foundElements = webDriver.findElements(seleniumFindBy);
             }
@@ -382,29 +683,57 @@ public class SeleniumDriver {
             }
         }
 
-        if (parentElement==null)
-            Logger.WriteLine(Logger.LogLevels.FrameworkDebug,"Found [%d] elements matching [%s] (%s)",foundElements.size(),mapping.getOriginalFindLogic(),mapping.getFriendlyName());
-        else
-            Logger.WriteLine(Logger.LogLevels.FrameworkDebug,"Found [%d] elements matching [%s] (%s) offset from [%s]",foundElements.size(),mapping.getOriginalFindLogic(),mapping.getFriendlyName(),parentElement.getMappingDetails().getFriendlyName());
+        return wrapFoundElements(parentElement, mapping, foundElements);
+    }
+
+    //
+    // Streams the elements matching the mapping, offset from the parent element (or the DOM top level if parent is null).  Unlike findElements,
+    // matches are not all passed back in one go; they are held in the browser and fetched a chunk (See setStreamChunkSize) at a time as the
+    // stream is consumed.  So short-circuiting pipelines (IE. filter(...).findFirst()) only pull back as many matches as they need.
+    // Like findElements there is no wait; if nothing matches the stream is empty.  Stream should be closed if not consumed to the end:-
+    //
+    //   try (Stream<HTMLElement> rows = driver.streamElements(table, new ObjectMapping("//tr"))) {
+    //       HTMLElement row = rows.filter(r -> r.getText().contains("Hello")).findFirst().orElse(null);
+    //   }
+    //
+    public Stream<HTMLElement> streamElements(HTMLElement parentElement, ObjectMapping mapping) {
+        return streamElements(parentElement, mapping, getStreamChunkSize());
+    }
 
+    public Stream<HTMLElement> streamElements(HTMLElement parentElement, ObjectMapping mapping, int chunkSize) {
+        if (mapping==null) {
+            Logger.WriteLine(Logger.LogLevels.Error,"ObjectMapping = null!");
+            throw new RuntimeException("SeleniumDriver.streamElements called with mapping null!");
+        }
 
-        for(int index = 0;index<foundElements.size();index++) {
-            ObjectMapping actualMapping = mapping.copy();
-           if (actualMapping.getMappingType() == ObjectMapping.ByType.XPath) {
-               // We do this for xPath but what about the other types...  Maybe we should ONLY support xpath???
-               // Note that Selenium uses 1-based indexing so in the xpath we construct we add 1.
-               actualMapping.setActualFindLogic(String.format("(%s)[%s]",actualMapping.getOriginalFindLogic(), Integer.toString(index+1)));
-           }
-           HTMLElement htmlElement = new HTMLElement(this,foundElements.get(index),actualMapping);
-           returnElements.add(htmlElement);
+        ElementCursor cursor;
+        try {
+            cursor = new ElementCursor(this, parentElement, mapping, chunkSize);
         }
-        return returnElements;
+        catch (Exception e) {
+            throw new RuntimeException(String.format("Selenium Driver error. Unable to stream elements using Find Logic [%s] for [%s]. See inner exception.",mapping.getActualFindLogic(),mapping.getFriendlyName()),e);
+        }
+        return StreamSupport.stream(Spliterators.spliterator(cursor, cursor.getTotalMatches(), Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(cursor::close);
+    }
+
+    //
+    // Wraps the Selenium WebElements found using the given mapping into HTMLElements, each with its own copy of the mapping identifying it.  The
+    // returned list is lazy; an element's mapping copy and HTMLElement are only created when it is first accessed (See HTMLElementList).
+    //
+    private List<HTMLElement> wrapFoundElements(HTMLElement parentElement, ObjectMapping mapping, List<WebElement> foundElements) {
+        if (parentElement==null)
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Found [%d] elements matching [%s] (%s)", foundElements.size(),mapping.getOriginalFindLogic(),mapping.getFriendlyName()));
+        else
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Found [%d] elements matching [%s] (%s) offset from [%s]", foundElements.size(),mapping.getOriginalFindLogic(),mapping.getFriendlyName(),parentElement.getMappingDetails().getFriendlyName()));
+
+        return new HTMLElementList(this,mapping,foundElements);
     }
 
 
     public void gotoURL(String fullURLPath) {
         try {
             webDriver.navigate().to(fullURLPath);
+            recordVisitedOrigin(fullURLPath);
         }
         catch (Exception e) {
             Logger.WriteLine(Logger.LogLevels.Error, "Error browsing to [%s]: %s",(fullURLPath==null || fullURLPath.isEmpty())?"NO URL!!":fullURLPath,e.getMessage());
@@ -432,7 +761,7 @@ public class SeleniumDriver {
 
     public boolean isDisplayed(Object webElement) {
         if (webElement==null) throw new RuntimeException("webElement null!");
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Get element displayed status using Selenium IWebElement.isDisplayed");
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, "Get element displayed status using Selenium IWebElement.isDisplayed");
         try {
             return ((WebElement) webElement).isDisplayed();
         }
@@ -445,7 +774,7 @@ public class SeleniumDriver {
     }
     public boolean isEnabled(Object webElement) {
         if (webElement==null) throw new RuntimeException("webElement null!");
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Get element enabled status using Selenium IWebElement.isEnabled");
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, "Get element enabled status using Selenium IWebElement.isEnabled");
         try {
             return ((WebElement) webElement).isEnabled();
         }
@@ -457,9 +786,25 @@ public class SeleniumDriver {
         }
     }
 
+    //
+    // Waits, in the browser, until the element's bounding rectangle has not changed for the stable frame count (See setStableFrameCount) animation
+    // frames.  Single round trip, returning as soon as the element settles.  Returns true if stable, false if still moving at timeout or null if
+    // the browser was unable to do the detection (caller should fall back to sampling from here).
+    //
+    Boolean waitForRectStable(Object webElement, long timeoutMillis) {
+        if (webElement==null) throw new RuntimeException("webElement null!");
+        try {
+            return executeAsyncJavaScript(Boolean.class, BrowserScripts.WAIT_FOR_RECT_STABLE, Duration.ofMillis(timeoutMillis + scriptTimeoutMarginMillis), webElement, getStableFrameCount(), timeoutMillis);
+        }
+        catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("In-browser stability detection not possible: %s", e.getMessage()));
+            return null;
+        }
+    }
+
     public void clear(Object webElement) {
         if (webElement==null) throw new RuntimeException("webElement null!");
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Clearing element using Selenium IWebElement.Clear");
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, "Clearing element using Selenium IWebElement.Clear");
         try {
             ((WebElement) webElement).clear();
         }
@@ -479,7 +824,7 @@ public class SeleniumDriver {
         //IWebElement aa = ElementFindTimeout.Until((b) => { if (IsElementVisible(WebElement) && IsElementEnabled(WebElement)) return WebElement; else { Logger.WriteLn(this, "SetText", "Polling until Text can be entered"); return null; } });
         if (webElement==null) throw new RuntimeException("webElement null!");
         text = (text==null)?"":text;
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Entering text using Selenium IWebElement SendKeys: [%s].", text);
+        if (Log.isEnabled(Logger.LogLevels.FrameworkDebug)) Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Entering text using Selenium IWebElement SendKeys: [%s].", text);
         try {
             ((WebElement) webElement).sendKeys(text);
         }
@@ -491,6 +836,40 @@ public class SeleniumDriver {
         }
     }
 
+    //
+    // Sets the element's text in a single script (See BrowserScripts.SET_TEXT_DIRECT), replacing it or, if appending, adding to it.  Checks, in the
+    // same call, the element ended up with the text; throws InvalidElementState if not (IE. the page reformatted or rejected it) so callers can retry.
+    //
+    public void setTextDirect(Object webElement, String text, boolean append) {
+        setTextDirect(webElement, text, append, new String[1]);
+    }
+
+    //
+    // originalText[0] is the element's text to append to; if null it is set to the element's text as it was before this call.  So retries passing the
+    // same array append to the text as it originally was, rather than appending again, with no extra round trip to read it.
+    //
+    void setTextDirect(Object webElement, String text, boolean append, String[] originalText) {
+        if (webElement==null) throw new RuntimeException("webElement null!");
+        String textToSet = (text==null)?"":text;
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("%s text by directly setting value: [%s].", append ? "Appending" : "Setting", textToSet));
+        List<?> result;
+        try {
+            result = executeJavaScript(List.class, BrowserScripts.SET_TEXT_DIRECT, webElement, textToSet, append, originalText[0]);
+        }
+        catch (StaleElementReferenceException e) {
+            throw new InvalidElementState("Unable to set element text.  See underlying cause.",e);
+        }
+        if (result==null) {
+            throw new InvalidElementState("Unable to set element text directly.  Element is not an enabled, writable, input, textarea or content editable.");
+        }
+        originalText[0] = (String) result.get(0);
+        String current = (String) result.get(1);
+        String expected = append ? originalText[0] + textToSet : textToSet;
+        if (!expected.equals(current)) {
+            throw new InvalidElementState(String.format("Element text is [%s] after directly setting [%s]", current, expected));
+        }
+    }
+
     public String getText(Object webElement,boolean includeDescendantsText, boolean scrollIntoViewFirst, boolean useInnerTextAttribute) {
         if (webElement==null) throw new RuntimeException("webElement null!");
         //
@@ -518,40 +897,19 @@ public class SeleniumDriver {
             if (useInnerTextAttribute)
             {
                 text.append(((WebElement)webElement).getAttribute("innerText"));
-                Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Get element text using element innerText attribute: [{0}]", text);
+                Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Get element text using element innerText attribute: [%s]", text));
             }
             else
             {
                 text.append(((WebElement)webElement).getText());
-                Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Get element text using Selenium Text property: [{0}]", text);
+                Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Get element text using Selenium Text property: [%s]", text));
             }
         }
         else
         {
-            Reader stringReader = new StringReader(((WebElement)webElement).getAttribute("outerHTML"));
-            HTMLEditorKit htmlKit = new HTMLEditorKit();
-            HTMLDocument htmlDoc = (HTMLDocument) htmlKit.createDefaultDocument();
-            HTMLEditorKit.Parser parser = new ParserDelegator();
-            try {
-                parser.parse(stringReader, htmlDoc.getReader(0), true);
-            }
-            catch (Exception e) {
-                throw new RuntimeException(String.format("Error parsing HTML from element outerHTML!"),e);
-            }
-
-            XPath xPath = XPathFactory.newInstance().newXPath();
-            NodeList nl=null;
-            try {
-                XPathExpression exp = xPath.compile("/*/text()");
-                nl = (NodeList)exp.evaluate(htmlDoc,XPathConstants.NODESET);
-            } catch (Exception e)
-            {
-                throw new RuntimeException(String.format("Error with XPath!"),e);
-            }
-
-            for(int index=0;index<nl.getLength();index++) {
-                text.append(nl.item(index).getTextContent());
-            }
+            // Only the element's own text; its direct child text nodes, gathered in the browser so no HTML comes back to be parsed.
+            text.append(executeJavaScript(String.class, BrowserScripts.OWN_TEXT, webElement));
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Get element own text (excluding descendants): [%s]", text));
         }
         return text.toString();
     }
@@ -601,7 +959,7 @@ public class SeleniumDriver {
 
         try {
             String attrib = ((WebElement)webElement).getAttribute(attribute);
-            Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Got attribute [%s]: [%s]", attribute,(attrib==null)?"Null":attrib);
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Got attribute [%s]: [%s]", attribute,(attrib==null)?"Null":attrib));
             return (attrib==null)?"":attrib;
 
         }
@@ -617,7 +975,7 @@ public class SeleniumDriver {
 
         try {
             WebElement element = ((WebElement)webElement).findElement(By.xpath(String.format(".[@%s]",attribute)));
-            Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Element [%s] have attribute: [%s]", element==null?"does not":"does",attribute);
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Element [%s] have attribute: [%s]", element==null?"does not":"does",attribute));
             return (element!=null);
 
         }
@@ -630,7 +988,7 @@ public class SeleniumDriver {
     }
 
     public void scrollIntoView(Object webElement) {
-        Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Scrolling element in to view using JavaScript injection - [Element].scrollIntoView()");
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, "Scrolling element in to view using JavaScript injection - [Element].scrollIntoView()");
         executeJavaScriptNoReturnData("arguments[0].scrollIntoView();", webElement);
     }
 
@@ -661,9 +1019,9 @@ public class SeleniumDriver {
             for (Object arg : args)
             {
                 if (exceptionString.isEmpty())
-                    exceptionString = String.format("executeJavaScript(\"%s\")-(Args: \"%s\"", script, arg.getClass().getName());
+                    exceptionString = String.format("executeJavaScript(\"%s\")-(Args: \"%s\"", script, (arg==null)?"null":arg.getClass().getName());
                 else
-                    exceptionString = String.format("%s, \"%s\"", exceptionString, arg.getClass().getName());
+                    exceptionString = String.format("%s, \"%s\"", exceptionString, (arg==null)?"null":arg.getClass().getName());
             }
             if (exceptionString.isEmpty())
                 exceptionString = String.format("executeJavaScript(\"%s\"): %s",script, exceptionString);
@@ -672,6 +1030,37 @@ public class SeleniumDriver {
         return type.cast(result);
     }
 
+    /// <summary>Injects and executes asynchronous Javascript in the currently active Selenium browser.  Script signals completion by calling the callback
+    /// passed as the last argument (arguments[arguments.length - 1]); the value passed to the callback is returned.</summary>
+    /// <param name="script">Javascript that will be injected into the DOM and executed.</param>
+    /// <param name="timeout">Maximum time script will be allowed to run before Selenium aborts it</param>
+    /// <param name="args">Any arguments passed in to the Javascript</param>
+    public <T> T executeAsyncJavaScript(Class<T> type, String script, Duration timeout, Object... args)
+    {
+        Object result=null;
+        try
+        {
+            setScriptTimeout(timeout.toMillis());
+            result = ((JavascriptExecutor)webDriver).executeAsyncScript(script, args);
+        }
+        catch (WebDriverException e)
+        {
+            checkIfConnectionIssue(e);
+            throw new RuntimeException("Selenium Driver error executing async javascript.  See inner exception.",e);
+        }
+        catch (Exception ex)
+        {
+            StringBuilder argTypes = new StringBuilder();
+            for (Object arg : args)
+            {
+                if (argTypes.length()>0) argTypes.append(", ");
+                argTypes.append(String.format("\"%s\"", (arg==null)?"null":arg.getClass().getName()));
+            }
+            throw new RuntimeException(String.format("executeAsyncJavaScript(\"%s\")-(Args: %s)", script, argTypes.toString()),ex);
+        }
+        return type.cast(result);
+    }
+
     /// <summary>Injects and executes Javascript in the currently active Selenium browser. If Selenium throws an error, test is aborted.</summary>
     /// <param name="script">Javascript that will be injected into the DOM and executed.</param>
     /// <param name="args">Any arguments passed in to the Javascript</param>
@@ -756,8 +1145,79 @@ public class SeleniumDriver {
     }
 
 
+    //
+    // True if the browser session is still usable (a trivial script round trip succeeds).  Does not log or throw if not.
+    //
+    public boolean isHealthy() {
+        if (webDriver == null) return false;
+        try {
+            ((JavascriptExecutor) webDriver).executeScript("return 1;");
+            return true;
+        }
+        catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Driver health check failed: %s", e.getMessage()));
+            return false;
+        }
+    }
+
+    //
+    // Returns driver to a clean state for its next user (See SeleniumDriverPool); control cache cleared, all windows but one closed, top level
+    // frame selected, cookies and local and session storage deleted for every origin browsed to (by gotoURL, or shown in a window when reset) and a blank page
+    // loaded.  Driver settings (timeouts, poll strategy, text entry mode etc.) are set back to their defaults.
+    //
+    void resetForReuse() {
+        ControlBase.clearCache(this);
+
+        // Close every window but the first; noting the origin each is showing
+        String keptWindow = null;
+        for (String window : webDriver.getWindowHandles()) {
+            webDriver.switchTo().window(window);
+            try {
+                recordVisitedOrigin(webDriver.getCurrentUrl());
+            } catch (Exception e) {
+                Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Unable to get current URL: %s", e.getMessage()));
+            }
+            if (keptWindow == null) keptWindow = window;
+            else webDriver.close();
+        }
+        webDriver.switchTo().window(keptWindow);
+        webDriver.switchTo().defaultContent();
+
+        //
+        // Cookies and storage can only be deleted for the page's own origin; so each origin browsed to is revisited and cleared in turn.
+        //
+        for (String origin : _visitedOrigins) {
+            try {
+                webDriver.navigate().to(origin + "/");
+                webDriver.manage().deleteAllCookies();
+                ((JavascriptExecutor) webDriver).executeScript(BrowserScripts.CLEAR_STORAGE);
+            } catch (Exception e) {
+                Logger.WriteLine(Logger.LogLevels.TestInformation, "Unable to clear cookies and storage for [%s]: %s", origin, e.getMessage());
+            }
+        }
+        _visitedOrigins.clear();
+        webDriver.navigate().to("about:blank");
+
+        setDefaultSettings();
+    }
+
+    //
+    // Notes the origin (scheme, host and port) of an http(s) URL so resetForReuse can clear its cookies and storage.
+    //
+    private void recordVisitedOrigin(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) return;
+            _visitedOrigins.add(String.format("%s://%s%s", scheme.toLowerCase(), uri.getHost().toLowerCase(), (uri.getPort() == -1) ? "" : ":" + uri.getPort()));
+        } catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Not recording origin of [%s]: %s", url, e.getMessage()));
+        }
+    }
+
     public void CloseDriver() {
         boolean TakeScreenshotOption = false;
+        ControlBase.clearCache(this);
         try {
             try {
                 TakeScreenshotOption = General.IsValueTrue(TestData.getItem(String.class, "Debug", "TakeScreenshot"));
@@ -819,90 +1279,130 @@ public class SeleniumDriver {
         isLocalSelenium = (seleniumHost.equalsIgnoreCase("localhost") || seleniumHost.equals("127.0.0.1"));
     }
 
+    //
+    // Each driver service is configured through its own builder rather than the (JVM global) driver System properties, so any number of drivers with
+    // different browsers, driver folders and logging can run at the same time.
+    //
     private void setupLocalRun(boolean killFirst) {
         Logger.WriteLine(Logger.LogLevels.FrameworkDebug, "Running Selenium locally");
 
         try {
-            if (Browsers.isInternetExplorer()) {
+            if (seleniumLogFilename != null) {
+                Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to: %s", seleniumLogFilename);
+            } else {
+                Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to console");
+            }
+            if (getBrowser().isInternetExplorer()) {
                 //
                 // See https://code.google.com/p/selenium/issues/detail?id=4403
                 //
                 String executable="IEDriver.exe";
                 InternetExplorerOptions IEO = new InternetExplorerOptions();
                 IEO.destructivelyEnsureCleanSession();
-
-                setPathToDriverIfExistsAndIsExecutable(seleniumServerFolder, InternetExplorerDriverService.IE_DRIVER_EXE_PROPERTY,executable);
-                if (seleniumDebugMode)
-                    System.setProperty(InternetExplorerDriverService.IE_DRIVER_LOGLEVEL_PROPERTY, "TRACE");
-
-
-                if (seleniumLogFilename != null) {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to: %s", seleniumLogFilename);
-                    System.setProperty(InternetExplorerDriverService.IE_DRIVER_LOGFILE_PROPERTY, CheckAndPreparSeleniumLogFile(seleniumLogFilename));
-                } else {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to console");
+                if (getSharedDriverService()) {
+                    Logger.WriteLine(Logger.LogLevels.TestInformation, "IE driver server only runs one session at a time.  Not using shared driver service");
+                    _sharedDriverService = false;
                 }
 
-                InternetExplorerDriverService service = InternetExplorerDriverService.createDefaultService();
+                InternetExplorerDriverService.Builder serviceBuilder = new InternetExplorerDriverService.Builder().usingDriverExecutable(getDriverExecutable(seleniumServerFolder, executable)).usingAnyFreePort();
+                if (seleniumDebugMode) serviceBuilder.withLogLevel(InternetExplorerDriverLogLevel.TRACE);
+                if (seleniumLogFilename != null) serviceBuilder.withLogFile(new File(CheckAndPreparSeleniumLogFile(seleniumLogFilename)));
 
                 IEO.setCapability("INTRODUCE_FLAKINESS_BY_IGNORING_SECURITY_DOMAINS", (boolean) true);  // Enabling this as part of #ITSD1-1126 - If any issues come back to request
                 Logger.WriteLine(Logger.LogLevels.TestInformation, "IE Browser being used.  Setting INTRODUCE_FLAKINESS_BY_IGNORING_SECURITY_DOMAINS active. #ITSD1-1126");
-                webDriver = new InternetExplorerDriver(service, IEO);
+                webDriver = new InternetExplorerDriver(serviceBuilder.build(), IEO);
             }
-            else if (Browsers.isChrome()) {
+            else if (getBrowser().isChrome()) {
                 String executable = "ChromeDriver.exe";
                 ChromeOptions options = new ChromeOptions();
 
+                File driverExecutable = getDriverExecutable(seleniumServerFolder, executable);
+                Supplier<ChromeDriverService> buildService = () -> {
+                    ChromeDriverService.Builder serviceBuilder = new ChromeDriverService.Builder().usingDriverExecutable(driverExecutable).usingAnyFreePort().withVerbose(seleniumDebugMode);
+                    if (seleniumLogFilename != null) serviceBuilder.withLogFile(new File(CheckAndPreparSeleniumLogFile(seleniumLogFilename)));
+                    return serviceBuilder.build();
+                };
 
-
-                setPathToDriverIfExistsAndIsExecutable(seleniumServerFolder, ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY,executable);
-                if (seleniumDebugMode) System.setProperty(ChromeDriverService.CHROME_DRIVER_VERBOSE_LOG_PROPERTY, "true");
-
-                if (seleniumLogFilename != null) {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to: %s", seleniumLogFilename);
-                    System.setProperty(ChromeDriverService.CHROME_DRIVER_LOG_PROPERTY, CheckAndPreparSeleniumLogFile(seleniumLogFilename));
+                if (getSharedDriverService()) {
+                    if (killFirst) Logger.WriteLine(Logger.LogLevels.TestInformation, "Using shared driver service so not killing existing driver processes");
+                    webDriver = new RemoteWebDriver(getSharedService("Chrome", driverExecutable, buildService).getUrl(), options);
                 } else {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to console");
+                    if (killFirst) killAllProcesses(executable);
+                    webDriver = new ChromeDriver(buildService.get(), options);
                 }
-
-                if (killFirst) killAllProcesses(executable);
-                webDriver = new ChromeDriver(ChromeDriverService.createDefaultService(), options);
             }
-            else if (Browsers.isEdge()) {
+            else if (getBrowser().isEdge()) {
                 String executable = "EdgeDriver.exe";
                 EdgeOptions options = new EdgeOptions();
-
-                setPathToDriverIfExistsAndIsExecutable(seleniumServerFolder, EdgeDriverService.EDGE_DRIVER_EXE_PROPERTY,executable);
-                if (seleniumDebugMode) System.setProperty(EdgeDriverService.EDGE_DRIVER_VERBOSE_LOG_PROPERTY, "true");
-
-                if (seleniumLogFilename != null) {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to: %s", seleniumLogFilename);
-                    System.setProperty(EdgeDriverService.EDGE_DRIVER_LOG_PROPERTY, CheckAndPreparSeleniumLogFile(seleniumLogFilename));
-                } else {
-                    Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Writing Selenium Server Output to console");
+                if (getSharedDriverService()) {
+                    Logger.WriteLine(Logger.LogLevels.TestInformation, "Edge driver server only runs one session at a time.  Not using shared driver service");
+                    _sharedDriverService = false;
                 }
 
-                webDriver = new EdgeDriver(EdgeDriverService.createDefaultService(), options);
+                EdgeDriverService.Builder serviceBuilder = new EdgeServiceBuilder(seleniumDebugMode).usingDriverExecutable(getDriverExecutable(seleniumServerFolder, executable)).usingAnyFreePort();
+                if (seleniumLogFilename != null) serviceBuilder.withLogFile(new File(CheckAndPreparSeleniumLogFile(seleniumLogFilename)));
+
+                webDriver = new EdgeDriver(serviceBuilder.build(), options);
             }
             else {
-                throw new RuntimeException(String.format("Browser [%s] not yet implemented!",Browsers.getBrowserType().name()));
+                throw new RuntimeException(String.format("Browser [%s] not yet implemented!",getBrowser().getBrowserType().name()));
             }
         } catch (Exception e) {
-            throw new RuntimeException(String.format("Error instantiating [%s] (%s)", Browsers.isChrome() ? "Chrome" : Browsers.isEdge() ? "Edge" : Browsers.isInternetExplorer() ? "Internet Explorer" : Browsers.isSafari() ? "Safari" : "UNKNOWN!", seleniumServerFolder));
+            throw new RuntimeException(String.format("Error instantiating [%s] (%s)", getBrowser().isChrome() ? "Chrome" : getBrowser().isEdge() ? "Edge" : getBrowser().isInternetExplorer() ? "Internet Explorer" : getBrowser().isSafari() ? "Safari" : "UNKNOWN!", seleniumServerFolder), e);
+        }
+    }
+
+    //
+    // Shared driver service for the browser with this driver's service configuration; drivers configured differently get their own shared service.
+    // Log file is only prepared (IE. emptied) when a service is started, not for every session.
+    //
+    private DriverService getSharedService(String browserName, File driverExecutable, Supplier<? extends DriverService> buildService) {
+        String key = String.format("%s (%s, debug %s, log %s)", browserName, driverExecutable.getPath(), seleniumDebugMode ? "on" : "off", (seleniumLogFilename == null) ? "console" : seleniumLogFilename);
+        return SharedDriverServices.getRunning(key, buildService::get);
+    }
+
+    //
+    // Edge driver service only takes verbose logging from its (JVM global) System property.  So this builder adds it per service.
+    //
+    private static final class EdgeServiceBuilder extends EdgeDriverService.Builder {
+        private final boolean _verbose;
+
+        private EdgeServiceBuilder(boolean verbose) {
+            _verbose = verbose;
+        }
+
+        @Override
+        protected ImmutableList<String> createArgs() {
+            ImmutableList<String> args = super.createArgs();
+            return (!_verbose || args.contains("--verbose")) ? args : ImmutableList.<String>builder().addAll(args).add("--verbose").build();
         }
     }
 
-    private List<HTMLElement> getHtmlElements(HTMLElement parentElement, ObjectMapping objectMapping, boolean allowMultipleMatches, boolean waitUntilSingle, boolean showMultiFound, long totalTimeoutMillis, long pollIntervalMillis, StopWatch timer) {
+    private List<HTMLElement> getHtmlElements(HTMLElement parentElement, ObjectMapping objectMapping, boolean allowMultipleMatches, boolean waitUntilSingle, boolean showMultiFound, long totalTimeoutMillis, PollStrategy pollStrategy, StopWatch timer, FindStatistics.FindRecord findRecord) {
         List<HTMLElement> clauseResults = new ArrayList<HTMLElement>();
+        int pollNumber = 0;
+
+        if (getEventDrivenFind()) {
+            clauseResults = getHtmlElementsInBrowser(parentElement, objectMapping, (!allowMultipleMatches && waitUntilSingle), Math.max(0, totalTimeoutMillis - timer.getTime()));
+            if (clauseResults!=null) {
+                if (findRecord!=null) findRecord.polled(clauseResults.size(), timer.getTime());
+                return clauseResults;
+            }
+            clauseResults = new ArrayList<HTMLElement>();
+        }
+
         while (clauseResults.size() == 0 || (clauseResults.size() != 1 && !allowMultipleMatches && waitUntilSingle)) {
             clauseResults = findElements(parentElement, objectMapping);
+            if (findRecord!=null) findRecord.polled(clauseResults.size(), timer.getTime());
             if (clauseResults.size() == 0 || (clauseResults.size() != 1 && !allowMultipleMatches && waitUntilSingle)) {
                 if (clauseResults.size() > 0 && showMultiFound) {
-                    Logger.WriteLine(Logger.LogLevels.TestDebug, "Found %d elements matching [%s].  Waiting until only a single element is found...", clauseResults.size(), objectMapping.getActualFindLogic());
+                    if (Log.isEnabled(Logger.LogLevels.TestDebug)) Logger.WriteLine(Logger.LogLevels.TestDebug, "Found %d elements matching [%s].  Waiting until only a single element is found...", clauseResults.size(), objectMapping.getActualFindLogic());
                     showMultiFound = false;
                 }
                 try {
-                    Thread.sleep(pollIntervalMillis);
+                    long elapsedMillis = timer.getTime();
+                    // Never sleep past the timeout; no point as we would not poll again anyway
+                    Thread.sleep(Math.max(0, Math.min(pollStrategy.getPollIntervalMillis(pollNumber++, elapsedMillis), totalTimeoutMillis - elapsedMillis)));
                 } catch (Exception e) {
                     Logger.WriteLine(Logger.LogLevels.Error, "Thread.sleep threw an exception after %s so aborting", durationFormatted(timer.getTime()));
                     throw new RuntimeException(String.format("Exception thrown while thread sleeping during Find Element (for [%s]) poll interval!", objectMapping.getFriendlyName()));
@@ -913,10 +1413,74 @@ public class SeleniumDriver {
         return clauseResults;
     }
 
-    private void setPathToDriverIfExistsAndIsExecutable(final String pathToDriver, final String driverExeProperty,String executable) {
+    //
+    // Event driven equivalent of the getHtmlElements poll loop.  A single async script waits in the browser (MutationObserver) until the find logic
+    // matches (exactly once if requireSingle) or the timeout is reached, returning whatever matches at that point.  Returns null if the browser
+    // was unable to do the find, in which case caller should fall back to polling.
+    //
+    private List<HTMLElement> getHtmlElementsInBrowser(HTMLElement parentElement, ObjectMapping objectMapping, boolean requireSingle, long timeoutMillis) {
+        List<List<WebElement>> foundElements = waitForElementsInBrowser(parentElement, Arrays.asList(objectMapping), requireSingle, timeoutMillis);
+        return (foundElements==null) ? null : wrapFoundElements(parentElement, objectMapping, foundElements.get(0));
+    }
+
+    //
+    // Waits in the browser until every mapping matches (See BrowserScripts.WAIT_FOR_ELEMENTS) returning, for each mapping, the WebElements
+    // matched.  Returns null if the browser was unable to do the find.
+    //
+    private List<List<WebElement>> waitForElementsInBrowser(HTMLElement parentElement, List<ObjectMapping> mappings, boolean requireSingle, long timeoutMillis) {
+        try {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Waiting in browser upto %dmS for %d mapping(s) starting [%s] (%s)", timeoutMillis,mappings.size(),mappings.get(0).getActualFindLogic(),mappings.get(0).getFriendlyName()));
+            return toWebElementLists(executeAsyncJavaScript(List.class,
+                    BrowserScripts.WAIT_FOR_ELEMENTS,
+                    Duration.ofMillis(timeoutMillis + scriptTimeoutMarginMillis),
+                    (parentElement==null) ? null : parentElement.getUnderlyingWebElement(),
+                    getBrowserLocators(mappings),
+                    requireSingle,
+                    timeoutMillis));
+        }
+        catch (Exception e) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Event driven find for [%s] (%s) not possible, falling back to polling: %s", mappings.get(0).getActualFindLogic(),mappings.get(0).getFriendlyName(),e.getMessage()));
+            return null;
+        }
+    }
+
+    //
+    // [type, value] pair for each mapping; the form the browser scripts use to locate elements.
+    //
+    private List<List<String>> getBrowserLocators(List<ObjectMapping> mappings) {
+        List<List<String>> locators = new ArrayList<List<String>>();
+        for (ObjectMapping mapping : mappings) {
+            locators.add(Arrays.asList(mapping.getMappingType().name(), mapping.getFindLogicValue()));
+        }
+        return locators;
+    }
+
+    private List<List<WebElement>> toWebElementLists(Object scriptResult) {
+        List<List<WebElement>> webElementLists = new ArrayList<List<WebElement>>();
+        for (Object matches : (List<?>)scriptResult) {
+            List<WebElement> webElements = new ArrayList<WebElement>();
+            for (Object match : (List<?>)matches) {
+                webElements.add((WebElement)match);
+            }
+            webElementLists.add(webElements);
+        }
+        return webElementLists;
+    }
+
+    //
+    // Only tell Selenium the script timeout if it has changed; saves a round trip on every async script using the same timeout as the last
+    //
+    private void setScriptTimeout(long timeoutMillis) {
+        if (timeoutMillis != _scriptTimeoutMillis) {
+            webDriver.manage().timeouts().setScriptTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            _scriptTimeoutMillis = timeoutMillis;
+        }
+    }
+
+    private File getDriverExecutable(final String pathToDriver, String executable) {
         final File driver = new File(pathToDriver,executable);
         if (driver.exists() && driver.canExecute()) {
-            System.setProperty(driverExeProperty, driver.getAbsolutePath());
+            return driver.getAbsoluteFile();
         } else {
             throw new IllegalArgumentException(String.format("Driver not found or is not executable in %s", pathToDriver));
         }
@@ -0,0 +1,449 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+//
+// Pool of SeleniumDrivers for running tests in parallel threads of a single JVM.  A test thread leases a driver, has sole use of it, and releases it
+// back to the pool when done; the next lease reuses it (after it has been reset; See SeleniumDriver.resetForReuse) rather than paying to start
+// another browser.  At most maxSize drivers exist at once.  If all are leased, lease waits (up to the lease timeout) for one to be released.
+//
+// Idle drivers are health checked before being leased and any that fail are closed and replaced.  Drivers idle in the pool for longer than the
+// idle timeout are closed by a background (daemon) thread, so a pool sized for the busiest part of a run does not hold browsers open after it.
+//
+// Starting a driver (driver service and browser) takes seconds.  The pool can hide that by warming; starting drivers on background threads ahead of
+// demand so a lease finds one ready.  It keeps at least the minimum ready count of drivers ready (idle or starting) and, if adaptive warming is on,
+// as many as recent demand needs: by Little's law, the rate drivers have been leased over the demand window times the average time a driver takes
+// to start.  As demand falls so does the number kept ready; drivers idle beyond it are closed after the idle timeout.  Warming is off by default.
+//
+// Drivers are created by the pool's driver factory.  It must not kill existing driver processes (IE. killDriverInstancesFirst must be false) as
+// other drivers in the pool are using them.
+//
+public class SeleniumDriverPool implements AutoCloseable {
+
+    private static final long defaultLeaseTimeout = 300000; // 5 Minutes
+    private static final long defaultIdleTimeout = 300000; // 5 Minutes
+    private static final long defaultDemandWindow = 60000; // 1 Minute
+    private static final long defaultStartMillis = 3000; // Assumed driver start time until one has been timed
+    private static final double startTimeSmoothing = 0.3; // Weight of latest driver start time in the average
+    private static final long maintenanceIntervalMillis = 1000; // How often idle drivers are checked for eviction and the ready count topped up
+    private static final long warmRetryDelayMillis = 30000; // After a background start fails, no warming for this long
+
+    private final Supplier<SeleniumDriver> _driverFactory;
+    private final int _maxSize;
+    private final Deque<IdleDriver> _idleDrivers = new ArrayDeque<IdleDriver>();   // Most recently released first
+    private final Set<SeleniumDriver> _leasedDrivers = Collections.newSetFromMap(new IdentityHashMap<SeleniumDriver, Boolean>());
+    private final Deque<Long> _leaseTimes = new ArrayDeque<Long>();   // Times (mS) of leases within the demand window, oldest first
+    private final ScheduledExecutorService _maintenance;
+    private final ExecutorService _warmer;
+    private int _creatingCount;          // Drivers being started; by leases and warming
+    private int _releasingCount;         // Released drivers being reset for reuse
+    private int _warmingCount;           // Drivers being started by warming
+    private int _waitingForWarmCount;    // Leases waiting for a warming driver
+    private long _warmingSuspendedUntilMillis;
+    private double _averageStartMillis = defaultStartMillis;
+    private boolean _closed;
+    private volatile Duration _leaseTimeout = Duration.ofMillis(defaultLeaseTimeout);
+    private volatile Duration _idleTimeout = Duration.ofMillis(defaultIdleTimeout);
+    private volatile Duration _demandWindow = Duration.ofMillis(defaultDemandWindow);
+    private volatile Predicate<SeleniumDriver> _healthCheck = SeleniumDriver::isHealthy;
+    private volatile int _minReadyCount = 0;
+    private volatile boolean _adaptiveWarming = false;
+
+    private static final class IdleDriver {
+        private final SeleniumDriver _driver;
+        private final long _idleSinceMillis;
+
+        private IdleDriver(SeleniumDriver driver) {
+            _driver = driver;
+            _idleSinceMillis = System.currentTimeMillis();
+        }
+    }
+
+    //
+    // Pool of drivers for the given Selenium host, device and browser (any of which may be null; See SeleniumDriver constructors).
+    //
+    public SeleniumDriverPool(int maxSize, String seleniumHost, String device, String browser) {
+        this(maxSize, () -> new SeleniumDriver(false, seleniumHost, device, browser));
+    }
+    public SeleniumDriverPool(int maxSize) {
+        this(maxSize, () -> new SeleniumDriver(false));
+    }
+    public SeleniumDriverPool(int maxSize, Supplier<SeleniumDriver> driverFactory) {
+        if (maxSize < 1) {
+            throw new RuntimeException(String.format("Selenium driver pool maximum size [%d] must be 1 or more", maxSize));
+        }
+        if (driverFactory == null) throw new RuntimeException("Selenium driver pool driverFactory null!");
+        _maxSize = maxSize;
+        _driverFactory = driverFactory;
+        _maintenance = Executors.newSingleThreadScheduledExecutor(daemonThreads("SeleniumDriverPool maintenance"));
+        _warmer = Executors.newCachedThreadPool(daemonThreads("SeleniumDriverPool warmer"));
+        _maintenance.scheduleWithFixedDelay(this::maintain, maintenanceIntervalMillis, maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int getMaxSize() { return _maxSize; }
+
+    //
+    // Drivers in the pool; idle, leased, being reset after release and being started.
+    //
+    public synchronized int getSize() { return _idleDrivers.size() + _leasedDrivers.size() + _releasingCount + _creatingCount; }
+    public synchronized int getIdleCount() { return _idleDrivers.size(); }
+    public synchronized int getLeasedCount() { return _leasedDrivers.size(); }
+    public synchronized int getWarmingCount() { return _warmingCount; }
+
+    //
+    // Longest lease waits for a driver to be released when all are leased.
+    //
+    public Duration setLeaseTimeout(Duration leaseTimeout) { _leaseTimeout = (leaseTimeout==null) ? Duration.ofMillis(defaultLeaseTimeout) : leaseTimeout; return getLeaseTimeout();}
+    public Duration getLeaseTimeout() { return _leaseTimeout;}
+
+    //
+    // How long a driver may sit idle in the pool before it is closed (unless it is needed to keep the ready count).
+    //
+    public Duration setIdleTimeout(Duration idleTimeout) { _idleTimeout = (idleTimeout==null) ? Duration.ofMillis(defaultIdleTimeout) : idleTimeout; return getIdleTimeout();}
+    public Duration getIdleTimeout() { return _idleTimeout;}
+
+    //
+    // Check an idle driver must pass before being leased.  SeleniumDriver.isHealthy by default.
+    //
+    public Predicate<SeleniumDriver> setHealthCheck(Predicate<SeleniumDriver> healthCheck) { _healthCheck = (healthCheck==null) ? SeleniumDriver::isHealthy : healthCheck; return getHealthCheck();}
+    public Predicate<SeleniumDriver> getHealthCheck() { return _healthCheck;}
+
+    //
+    // Fewest drivers kept ready (idle or starting) for leasing; started in the background.  0 (the default) keeps none ready.  Setting it starts
+    // warming straight away, so a pool can be warmed before the tests using it start.
+    //
+    public int setMinReadyCount(int minReadyCount) {
+        if (minReadyCount < 0 || minReadyCount > _maxSize) {
+            throw new RuntimeException(String.format("Minimum ready count [%d] must be between 0 and the pool maximum size [%d]", minReadyCount, _maxSize));
+        }
+        _minReadyCount = minReadyCount;
+        warm();
+        return getMinReadyCount();
+    }
+    public int getMinReadyCount() { return _minReadyCount;}
+
+    //
+    // If true, drivers are also kept ready for recent demand (See getTargetReadyCount).  Off by default.
+    //
+    public boolean setAdaptiveWarming(boolean adaptiveWarming) { _adaptiveWarming = adaptiveWarming; return getAdaptiveWarming();}
+    public boolean getAdaptiveWarming() { return _adaptiveWarming;}
+
+    //
+    // Period over which the lease rate is measured for adaptive warming.
+    //
+    public Duration setDemandWindow(Duration demandWindow) { _demandWindow = (demandWindow==null || demandWindow.isZero() || demandWindow.isNegative()) ? Duration.ofMillis(defaultDemandWindow) : demandWindow; return getDemandWindow();}
+    public Duration getDemandWindow() { return _demandWindow;}
+
+    //
+    // Average time a driver has taken to start (smoothed; recent starts weigh most).  An assumed 3 seconds until one has been timed.
+    //
+    public synchronized Duration getAverageStartTime() { return Duration.ofMillis(Math.round(_averageStartMillis)); }
+
+    //
+    // Number of drivers the pool is currently keeping ready.  The minimum ready count or, if adaptive warming is on and more, the drivers needed
+    // to cover demand while replacements start: leases over the demand window, per mS, times average start time (mS).  Never more than the
+    // pool has room for.
+    //
+    public synchronized int getTargetReadyCount() {
+        int target = _minReadyCount;
+        if (_adaptiveWarming) {
+            pruneLeaseTimes(System.currentTimeMillis());
+            double leasesPerMilli = (double) _leaseTimes.size() / getDemandWindow().toMillis();
+            target = Math.max(target, (int) Math.ceil(leasesPerMilli * _averageStartMillis));
+        }
+        return Math.min(target, _maxSize - _leasedDrivers.size() - _releasingCount);
+    }
+
+    //
+    // Leases a driver for the calling thread's sole use; an idle one if there is one (most recently released first), otherwise one being started by
+    // warming, otherwise a new one if the pool is not at its maximum size, otherwise waiting (up to the lease timeout) for one to be released.
+    // Must be given back with release (or discard).
+    //
+    public SeleniumDriver lease() { return lease(getLeaseTimeout()); }
+    public SeleniumDriver lease(Duration timeout) {
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            long nowMillis = System.currentTimeMillis();
+            pruneLeaseTimes(nowMillis);
+            _leaseTimes.addLast(nowMillis);
+        }
+        while (true) {
+            SeleniumDriver idleDriver = null;
+            synchronized (this) {
+                while (idleDriver == null) {
+                    if (_closed) throw new RuntimeException("Selenium driver pool is closed");
+                    if (!_idleDrivers.isEmpty()) {
+                        idleDriver = _idleDrivers.pollFirst()._driver;
+                        _leasedDrivers.add(idleDriver);
+                    } else if (_warmingCount > _waitingForWarmCount) {
+                        // A driver being started by warming will be ready sooner than one we start now
+                        _waitingForWarmCount++;
+                        try {
+                            waitUntil(deadlineNanos, timeout);
+                        } finally {
+                            _waitingForWarmCount--;
+                        }
+                    } else if (getSize() < _maxSize) {
+                        _creatingCount++;
+                        break;
+                    } else {
+                        waitUntil(deadlineNanos, timeout);
+                    }
+                }
+            }
+
+            warm();
+            if (idleDriver == null) return createLeasedDriver();
+            if (getHealthCheck().test(idleDriver)) {
+                Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Leased idle driver from pool (%d leased of %d)", getLeasedCount(), _maxSize));
+                return idleDriver;
+            }
+            Logger.WriteLine(Logger.LogLevels.TestInformation, "Idle driver in pool failed health check.  Closing and replacing");
+            discard(idleDriver);
+        }
+    }
+
+    //
+    // Returns a leased driver to the pool.  It is reset for its next user; if that fails (or the pool is closed) it is closed instead.  The driver
+    // stops being leased straight away, so releasing it again (IE. from another thread) throws rather than it going into the pool twice.
+    //
+    public void release(SeleniumDriver driver) {
+        boolean closed;
+        synchronized (this) {
+            throwIfNotLeased(driver);
+            _leasedDrivers.remove(driver);
+            closed = _closed;
+            if (closed) notifyAll();
+            else _releasingCount++;
+        }
+        if (closed) {
+            // No point resetting a driver that is only going to be closed
+            driver.CloseDriver();
+            return;
+        }
+        boolean reusable;
+        try {
+            driver.resetForReuse();
+            reusable = true;
+        } catch (Exception e) {
+            Logger.WriteLine(Logger.LogLevels.TestInformation, "Unable to reset driver released to pool (%s).  Closing it", e.getMessage());
+            reusable = false;
+        }
+        synchronized (this) {
+            _releasingCount--;
+            if (reusable && !_closed) {
+                _idleDrivers.addFirst(new IdleDriver(driver));
+                notifyAll();
+                return;
+            }
+            notifyAll();
+        }
+        driver.CloseDriver();
+        warm();
+    }
+
+    //
+    // Closes a leased driver rather than returning it to the pool; for when the caller knows it is no longer usable.  Frees its place in the pool.
+    //
+    public void discard(SeleniumDriver driver) {
+        synchronized (this) {
+            throwIfNotLeased(driver);
+            _leasedDrivers.remove(driver);
+            notifyAll();
+        }
+        driver.CloseDriver();
+        warm();
+    }
+
+    //
+    // Closes drivers idle for longer than the idle timeout, other than those needed to keep the target ready count (See getTargetReadyCount); the
+    // most recently used are kept.  Returns number closed.  Called regularly by the pool's background thread.
+    //
+    public int evictIdle() {
+        List<SeleniumDriver> evicted = new ArrayList<SeleniumDriver>();
+        long idleTimeoutMillis = getIdleTimeout().toMillis();
+        long nowMillis = System.currentTimeMillis();
+        synchronized (this) {
+            int keepCount = getTargetReadyCount();
+            while (_idleDrivers.size() > keepCount && nowMillis - _idleDrivers.peekLast()._idleSinceMillis >= idleTimeoutMillis) {
+                evicted.add(_idleDrivers.pollLast()._driver);
+            }
+        }
+        for (SeleniumDriver driver : evicted) {
+            Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Closing driver idle in pool for over [%d]mS", idleTimeoutMillis));
+            driver.CloseDriver();
+        }
+        return evicted.size();
+    }
+
+    //
+    // Starts drivers in the background until the drivers ready (idle or being started) reach the target ready count.  Returns number started.
+    // Called whenever a driver is leased or leaves the pool and regularly by the pool's background thread.
+    //
+    public int warm() {
+        int startCount;
+        synchronized (this) {
+            if (_closed || System.currentTimeMillis() < _warmingSuspendedUntilMillis) return 0;
+            int readyCount = _idleDrivers.size() + _warmingCount - _waitingForWarmCount;
+            startCount = Math.min(getTargetReadyCount() - readyCount, _maxSize - getSize());
+            if (startCount <= 0) return 0;
+            _creatingCount += startCount;
+            _warmingCount += startCount;
+        }
+        Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Warming pool; starting %d drivers in background", startCount));
+        for (int index = 0; index < startCount; index++) {
+            try {
+                _warmer.execute(this::startWarmDriver);
+            } catch (RejectedExecutionException e) {
+                // Pool closed since we checked
+                synchronized (this) {
+                    _creatingCount--;
+                    _warmingCount--;
+                    notifyAll();
+                }
+            }
+        }
+        return startCount;
+    }
+
+    //
+    // Closes all idle drivers and stops the pool leasing.  Leased drivers are closed as they are released; any being started when they are ready.
+    //
+    @Override
+    public void close() {
+        List<SeleniumDriver> idleDrivers = new ArrayList<SeleniumDriver>();
+        synchronized (this) {
+            if (_closed) return;
+            _closed = true;
+            while (!_idleDrivers.isEmpty()) {
+                idleDrivers.add(_idleDrivers.pollFirst()._driver);
+            }
+            notifyAll();
+        }
+        _maintenance.shutdownNow();
+        _warmer.shutdown();
+        for (SeleniumDriver driver : idleDrivers) {
+            driver.CloseDriver();
+        }
+    }
+
+    //
+    // Run regularly by the pool's background thread.  Must not throw; that would stop it being run again.
+    //
+    private void maintain() {
+        try {
+            evictIdle();
+            warm();
+        } catch (Exception e) {
+            Logger.WriteLine(Logger.LogLevels.Error, "Error maintaining Selenium driver pool: %s", e.getMessage());
+        }
+    }
+
+    private void startWarmDriver() {
+        SeleniumDriver driver = null;
+        try {
+            driver = startDriver();
+        } catch (RuntimeException e) {
+            Logger.WriteLine(Logger.LogLevels.Error, "Error starting driver in background for pool (No warming for %dmS): %s", warmRetryDelayMillis, e.getMessage());
+        }
+        synchronized (this) {
+            _creatingCount--;
+            _warmingCount--;
+            if (driver == null) _warmingSuspendedUntilMillis = System.currentTimeMillis() + warmRetryDelayMillis;
+            notifyAll();
+            if (driver != null && !_closed) {
+                _idleDrivers.addFirst(new IdleDriver(driver));
+                return;
+            }
+        }
+        if (driver != null) driver.CloseDriver();
+    }
+
+    private SeleniumDriver createLeasedDriver() {
+        SeleniumDriver driver;
+        try {
+            driver = startDriver();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                _creatingCount--;
+                notifyAll();
+            }
+            Logger.WriteLine(Logger.LogLevels.Error, "Error starting driver for pool: %s", e.getMessage());
+            throw e;
+        }
+        synchronized (this) {
+            _creatingCount--;
+            if (!_closed) {
+                _leasedDrivers.add(driver);
+                Log.writeLine(Logger.LogLevels.FrameworkDebug, () -> String.format("Started new driver for pool (%d leased of %d)", _leasedDrivers.size(), _maxSize));
+                return driver;
+            }
+            notifyAll();
+        }
+        driver.CloseDriver();
+        throw new RuntimeException("Selenium driver pool is closed");
+    }
+
+    private SeleniumDriver startDriver() {
+        StopWatch timer = StopWatch.createStarted();
+        SeleniumDriver driver = _driverFactory.get();
+        synchronized (this) {
+            _averageStartMillis = (startTimeSmoothing * timer.getTime()) + ((1 - startTimeSmoothing) * _averageStartMillis);
+        }
+        return driver;
+    }
+
+    // Must hold lock
+    private void waitUntil(long deadlineNanos, Duration timeout) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            Logger.WriteLine(Logger.LogLevels.Error, "No driver released to pool within [%d]mS (All %d drivers leased)", timeout.toMillis(), _maxSize);
+            throw new RuntimeException(String.format("No driver released to pool within [%d]mS (All %d drivers leased)", timeout.toMillis(), _maxSize));
+        }
+        try {
+            wait(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for a driver to be released to pool", e);
+        }
+    }
+
+    // Must hold lock
+    private void pruneLeaseTimes(long nowMillis) {
+        long windowStartMillis = nowMillis - getDemandWindow().toMillis();
+        while (!_leaseTimes.isEmpty() && _leaseTimes.peekFirst() < windowStartMillis) {
+            _leaseTimes.pollFirst();
+        }
+    }
+
+    private void throwIfNotLeased(SeleniumDriver driver) {
+        if (driver == null) throw new RuntimeException("Selenium driver pool driver null!");
+        if (!_leasedDrivers.contains(driver)) throw new RuntimeException("Driver was not leased from this pool (or has already been released)");
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package TeamControlium.Controlium;
+
+import TeamControlium.Utilities.Logger;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+//
+// Driver services (IE. ChromeDriver server) shared by every SeleniumDriver in the JVM using a shared driver service (See SeleniumDriver
+// getSharedDriverService).  A service is started for each browser and service configuration (driver executable and logging) the first time it is
+// needed and reused from then on; so each SeleniumDriver costs only a new browser session, not a new driver server process too.  A service that
+// has stopped is replaced when next needed.  All services are stopped when the JVM exits.
+//
+final class SharedDriverServices {
+
+    private static final Map<String, DriverService> services = new HashMap<String, DriverService>();
+    private static boolean shutdownHookAdded = false;
+
+    private SharedDriverServices() {
+    }
+
+    //
+    // Running service for the key; started, using serviceBuilder to build it, if there is none yet (or it has stopped).
+    //
+    static synchronized DriverService getRunning(String key, Supplier<DriverService> serviceBuilder) {
+        DriverService service = services.get(key);
+        if (service != null && service.isRunning()) return service;
+        if (service != null) {
+            Logger.WriteLine(Logger.LogLevels.TestInformation, "Shared driver service [%s] has stopped.  Starting new one", key);
+        }
+
+        service = serviceBuilder.get();
+        try {
+            service.start();
+        } catch (Exception e) {
+            Logger.WriteLine(Logger.LogLevels.Error, "Error starting shared driver service [%s]: %s", key, e.getMessage());
+            throw new RuntimeException(String.format("Error starting shared driver service [%s]: %s", key, e.getMessage()), e);
+        }
+        services.put(key, service);
+        Logger.WriteLine(Logger.LogLevels.FrameworkInformation, "Started shared driver service [%s] at [%s]", key, service.getUrl().toString());
+
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedDriverServices::stopAll, "SharedDriverServices shutdown"));
+            shutdownHookAdded = true;
+        }
+        return service;
+    }
+
+    //
+    // Stops all shared services.  Any sessions still open on them are lost.
+    //
+    static synchronized void stopAll() {
+        for (Map.Entry<String, DriverService> service : services.entrySet()) {
+            try {
+                service.getValue().stop();
+            } catch (Exception e) {
+                Logger.WriteLine(Logger.LogLevels.Error, "Error stopping shared driver service [%s]: %s", service.getKey(), e.getMessage());
+            }
+        }
+        services.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package TeamControlium.Controlium;
+
+//
+// Element properties that can be sampled when waiting for an element to become stable (See HTMLElement.waitForStable).  All properties asked for
+// are read in a single script call per sample, so watching several costs no more round trips than watching one.
+//
+// As well as the constants, any DOM element property can be sampled by name (IE. "scrollTop", "innerHTML") and any computed style using
+// style(name) (IE. style("opacity")).
+//
+public final class StabilityProperty {
+
+    public static final String HEIGHT = "offsetHeight";
+    public static final String WIDTH = "offsetWidth";
+    public static final String RECT = "rect";   // Bounding client rectangle; position and size
+    static final String STYLE_PREFIX = "style:";
+
+    private StabilityProperty() {
+    }
+
+    public static String style(String styleName) {
+        if (styleName == null || styleName.isEmpty()) {
+            throw new RuntimeException("Style name must be given.  styleName is null or empty!");
+        }
+        return STYLE_PREFIX + styleName;
+    }
+}
@@ -0,0 +1,10 @@
+package TeamControlium.Controlium;
+
+//
+// How HTMLElement.setText/enterText put text into an element.  Set on the SeleniumDriver (default for all elements), a ControlBase, an ObjectMapping
+// or an HTMLElement; the most specific wins.
+//
+public enum TextEntryMode {
+    KEYSTROKES,     // Typed in by Selenium, a key event at a time, as a user would.  The default
+    DIRECT_VALUE    // Value set, with input and change events (but only one key event) fired, and checked in a single script.  Much quicker for long text
+}